@@ -0,0 +1,83 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.ExpensesApiApplication;
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatementImportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"SINGLE_TRANSACTION", "CHUNKED"})
+    private String commitMode;
+
+    @Param({"1"})
+    private int parseWorkers;
+
+    private ConfigurableApplicationContext context;
+    private StatementImportService statementImportService;
+    private AccountService accountService;
+    private byte[] csv;
+    private int iteration;
+    private AccountDto account;
+
+    @Setup
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ExpensesApiApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "expenses.statement-import.commit-mode=" + commitMode,
+                        "expenses.statement-import.parse-workers=" + parseWorkers
+                )
+                .run();
+        statementImportService = context.getBean(StatementImportService.class);
+        accountService = context.getBean(AccountService.class);
+        csv = SyntheticStatementGenerator.csv(rows, 7);
+    }
+
+    @Setup(Level.Iteration)
+    public void createAccount() {
+        account = accountService.create(new CreateAccountRequest("Benchmark " + commitMode + " " + iteration++, null, null));
+    }
+
+    @TearDown
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public StatementImportResponseDto importCsv() {
+        return statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "synthetic.csv", "text/csv", csv),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+    }
+}
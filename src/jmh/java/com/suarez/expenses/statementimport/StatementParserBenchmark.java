@@ -0,0 +1,70 @@
+package com.suarez.expenses.statementimport;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class StatementParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"1"})
+    private int parseWorkers;
+
+    private byte[] csv;
+    private byte[] ofx;
+    private ForkJoinPool pool;
+    private CsvStatementParser csvParser;
+    private OfxLikeStatementParser ofxParser;
+
+    @Setup
+    public void setUp() {
+        csv = SyntheticStatementGenerator.csv(rows, 42);
+        ofx = SyntheticStatementGenerator.ofx(rows, 42);
+        pool = new ForkJoinPool(parseWorkers);
+        StatementImportProperties properties = new StatementImportProperties(
+                500, ImportCommitMode.SINGLE_TRANSACTION, 500, parseWorkers, 50, 100, null, null, null, 1, null, 1, 0, null
+        );
+        csvParser = new CsvStatementParser(new ParallelRowProcessor(pool), properties);
+        ofxParser = new OfxLikeStatementParser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void csv(Blackhole blackhole) throws IOException {
+        csvParser.parse(new ByteArrayInputStream(csv), new BlackholeSink(blackhole));
+    }
+
+    @Benchmark
+    public void ofx(Blackhole blackhole) throws IOException {
+        ofxParser.parse(new ByteArrayInputStream(ofx), new BlackholeSink(blackhole));
+    }
+
+    private record BlackholeSink(Blackhole blackhole) implements StatementRowSink {
+
+        @Override
+        public void row(NormalizedStatementRow row) {
+            blackhole.consume(row);
+        }
+
+        @Override
+        public void issue(StatementIssue issue) {
+            blackhole.consume(issue);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.suarez.expenses.statementimport;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+public final class SyntheticStatementGenerator {
+
+    private static final String[] MERCHANTS = {
+            "POS PURCHASE GROCERY OUTLET #%d", "COFFEE HOUSE %d", "FUEL STATION %d SPRINGFIELD",
+            "ONLINE MARKETPLACE ORDER %d", "PHARMACY #%d", "PARKING METER %d", "RESTAURANT TAB %d"
+    };
+    private static final String[] CATEGORIES = {"Groceries", "Dining", "Fuel", "Shopping", "Health", ""};
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private SyntheticStatementGenerator() {
+    }
+
+    public static byte[] csv(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder csv = new StringBuilder(rows * 72).append("Date,Amount,Description,Category,Transaction ID\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(START.plusDays(i / 40)).append(',')
+                    .append(amount(random)).append(',')
+                    .append(description(random)).append(',')
+                    .append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append(',')
+                    .append("syn-").append(seed).append('-').append(i).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] ofx(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder ofx = new StringBuilder(rows * 160)
+                .append("OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n");
+        for (int i = 0; i < rows; i++) {
+            ofx.append("<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>")
+                    .append(START.plusDays(i / 40).toString().replace("-", "")).append("120000")
+                    .append("<TRNAMT>").append(amount(random))
+                    .append("<FITID>syn-").append(seed).append('-').append(i)
+                    .append("<NAME>").append(description(random))
+                    .append("</STMTTRN>\n");
+        }
+        ofx.append("</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+        return ofx.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String amount(SplittableRandom random) {
+        int cents = random.nextInt(1, 50_000);
+        return (random.nextInt(10) == 0 ? "" : "-") + (cents / 100) + "." + String.format("%02d", cents % 100);
+    }
+
+    private static String description(SplittableRandom random) {
+        return String.format(MERCHANTS[random.nextInt(MERCHANTS.length)], random.nextInt(1, 999));
+    }
+}
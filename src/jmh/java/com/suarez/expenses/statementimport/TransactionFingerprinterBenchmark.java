@@ -0,0 +1,43 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.transaction.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionFingerprinterBenchmark {
+
+    private final LocalDate date = LocalDate.of(2026, 1, 5);
+    private final BigDecimal amount = new BigDecimal("42.17");
+    private final String description = "POS PURCHASE   GROCERY OUTLET  #1234\tSPRINGFIELD ";
+
+    @Benchmark
+    public String legacy() throws NoSuchAlgorithmException {
+        String source = date + "|" + TransactionType.EXPENSE + "|" + amount.setScale(2, RoundingMode.HALF_UP) + "|"
+                + description.toLowerCase().replaceAll("\\s+", " ").trim();
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] bytes = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte item : bytes) {
+            hex.append(String.format("%02x", item));
+        }
+        return hex.toString();
+    }
+
+    @Benchmark
+    public String current() {
+        return TransactionFingerprinter.fingerprint(date, TransactionType.EXPENSE, amount, description);
+    }
+}
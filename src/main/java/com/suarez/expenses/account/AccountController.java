@@ -26,4 +26,15 @@ public class AccountController {
     public AccountDto create(@Valid @RequestBody CreateAccountRequest request) {
         return accountService.create(request);
     }
+
+    @PutMapping("/{id}")
+    public AccountDto update(@PathVariable Long id, @Valid @RequestBody UpdateAccountRequest request) {
+        return accountService.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deactivate(@PathVariable Long id) {
+        accountService.deactivate(id);
+    }
 }
@@ -2,10 +2,15 @@ package com.suarez.expenses.account;
 
 import com.suarez.expenses.common.BadRequestException;
 import com.suarez.expenses.common.NotFoundException;
+import com.suarez.expenses.summary.MonthSummaryCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AccountService {
@@ -13,9 +18,11 @@ public class AccountService {
     public static final String DEFAULT_ACCOUNT_NAME = "Primary";
 
     private final AccountRepository accountRepository;
+    private final MonthSummaryCache monthSummaryCache;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, MonthSummaryCache monthSummaryCache) {
         this.accountRepository = accountRepository;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
     @Transactional(readOnly = true)
@@ -41,6 +48,55 @@ public class AccountService {
         return AccountDto.from(accountRepository.save(account));
     }
 
+    @Transactional
+    public AccountDto update(Long id, UpdateAccountRequest request) {
+        Account account = getRequired(id);
+        if (request.name() != null && !request.name().isBlank()) {
+            String candidate = request.name().trim();
+            if (isDefault(account) && !candidate.equalsIgnoreCase(DEFAULT_ACCOUNT_NAME)) {
+                throw new BadRequestException("The default account cannot be renamed");
+            }
+            accountRepository.findByNameIgnoreCase(candidate)
+                    .filter(existing -> !existing.getId().equals(id))
+                    .ifPresent(existing -> {
+                        throw new BadRequestException("Account already exists: " + candidate);
+                    });
+            account.setName(candidate);
+        }
+        if (request.institutionName() != null) {
+            account.setInstitutionName(normalizeOptional(request.institutionName()));
+        }
+        if (request.last4() != null) {
+            account.setLast4(normalizeOptional(request.last4()));
+        }
+        if (request.active() != null) {
+            if (isDefault(account) && !request.active()) {
+                throw new BadRequestException("The default account cannot be deactivated");
+            }
+            account.setActive(request.active());
+        }
+        Account saved = accountRepository.save(account);
+        monthSummaryCache.invalidateAll();
+        return AccountDto.from(saved);
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        Account account = getRequired(id);
+        if (isDefault(account)) {
+            throw new BadRequestException("The default account cannot be deactivated");
+        }
+        account.setActive(false);
+        accountRepository.save(account);
+        monthSummaryCache.invalidateAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Account getRequired(Long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Account not found: " + id));
+    }
+
     @Transactional
     public Account resolveAccount(Long accountId) {
         if (accountId == null) {
@@ -50,12 +106,32 @@ public class AccountService {
                 .orElseThrow(() -> new NotFoundException("Account not found: " + accountId));
     }
 
+    @Transactional(readOnly = true)
+    public List<Account> resolveAccounts(Collection<Long> accountIds) {
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .filter(Account::isActive)
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        return accountIds.stream()
+                .map(accountId -> {
+                    Account account = accounts.get(accountId);
+                    if (account == null) {
+                        throw new NotFoundException("Account not found: " + accountId);
+                    }
+                    return account;
+                })
+                .toList();
+    }
+
     @Transactional
     public Account getOrCreateDefault() {
         return accountRepository.findByNameIgnoreCase(DEFAULT_ACCOUNT_NAME)
                 .orElseGet(() -> accountRepository.save(new Account(DEFAULT_ACCOUNT_NAME, null, null, true)));
     }
 
+    private boolean isDefault(Account account) {
+        return DEFAULT_ACCOUNT_NAME.equalsIgnoreCase(account.getName());
+    }
+
     private String normalizeOptional(String value) {
         if (value == null) {
             return null;
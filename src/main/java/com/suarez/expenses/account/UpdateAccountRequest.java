@@ -0,0 +1,12 @@
+package com.suarez.expenses.account;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record UpdateAccountRequest(
+        @Size(max = 120) String name,
+        @Size(max = 120) String institutionName,
+        @Pattern(regexp = "^$|\\d{4}$", message = "must be empty or 4 digits") String last4,
+        Boolean active
+) {
+}
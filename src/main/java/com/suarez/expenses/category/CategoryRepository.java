@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +15,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     List<Category> findByTypeAndActiveTrueOrderBySortOrderAscNameAsc(CategoryType type);
 
+    List<Category> findByActiveTrueOrderBySortOrderAscNameAsc();
+
     Optional<Category> findByTypeAndNameIgnoreCase(CategoryType type, String name);
 
+    @Query("select c from Category c where c.type = :type and lower(c.name) in :lowerNames")
+    List<Category> findByTypeAndLowerNameIn(@Param("type") CategoryType type, @Param("lowerNames") Collection<String> lowerNames);
+
     @Query("select coalesce(max(c.sortOrder), 0) from Category c where c.type = :type")
     Integer findMaxSortOrderByType(@Param("type") CategoryType type);
 }
@@ -3,6 +3,7 @@ package com.suarez.expenses.category;
 import com.suarez.expenses.common.BadRequestException;
 import com.suarez.expenses.common.NotFoundException;
 import com.suarez.expenses.plan.BudgetPlanRepository;
+import com.suarez.expenses.summary.MonthSummaryCache;
 import com.suarez.expenses.transaction.BudgetTransactionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,15 +16,18 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final BudgetPlanRepository budgetPlanRepository;
     private final BudgetTransactionRepository budgetTransactionRepository;
+    private final MonthSummaryCache monthSummaryCache;
 
     public CategoryService(
             CategoryRepository categoryRepository,
             BudgetPlanRepository budgetPlanRepository,
-            BudgetTransactionRepository budgetTransactionRepository
+            BudgetTransactionRepository budgetTransactionRepository,
+            MonthSummaryCache monthSummaryCache
     ) {
         this.categoryRepository = categoryRepository;
         this.budgetPlanRepository = budgetPlanRepository;
         this.budgetTransactionRepository = budgetTransactionRepository;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
     @Transactional(readOnly = true)
@@ -46,7 +50,9 @@ public class CategoryService {
                 request.sortOrder() == null ? 0 : request.sortOrder(),
                 request.active() == null || request.active()
         );
-        return CategoryDto.from(categoryRepository.save(category));
+        Category saved = categoryRepository.save(category);
+        monthSummaryCache.invalidateAll();
+        return CategoryDto.from(saved);
     }
 
     @Transactional
@@ -67,7 +73,9 @@ public class CategoryService {
         if (request.active() != null) {
             category.setActive(request.active());
         }
-        return CategoryDto.from(categoryRepository.save(category));
+        Category saved = categoryRepository.save(category);
+        monthSummaryCache.invalidateAll();
+        return CategoryDto.from(saved);
     }
 
     @Transactional
@@ -79,6 +87,7 @@ public class CategoryService {
             throw new BadRequestException("Category is referenced by plans or transactions and cannot be deleted");
         }
         categoryRepository.delete(category);
+        monthSummaryCache.invalidateAll();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,7 @@
+package com.suarez.expenses.common;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.suarez.expenses.config;
+
+import com.suarez.expenses.statementimport.StatementImportProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class StatementImportExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor statementImportExecutor(StatementImportProperties properties) {
+        int workers = Math.max(1, properties.asyncWorkers());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("statement-import-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Math.max(0, properties.asyncQueueCapacity()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool statementParsePool(StatementImportProperties properties) {
+        return new ForkJoinPool(Math.max(1, properties.parseWorkers()));
+    }
+}
@@ -1,11 +1,22 @@
 package com.suarez.expenses.month;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 
 public interface BudgetMonthRepository extends JpaRepository<BudgetMonth, Long> {
     Optional<BudgetMonth> findByMonthStart(LocalDate monthStart);
+
+    @Modifying
+    @Query(
+            value = "insert into budget_months (month_start, starting_balance) values (:monthStart, :startingBalance) on conflict do nothing",
+            nativeQuery = true
+    )
+    int insertIfAbsent(@Param("monthStart") LocalDate monthStart, @Param("startingBalance") BigDecimal startingBalance);
 }
 
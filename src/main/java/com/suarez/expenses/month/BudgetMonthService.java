@@ -1,5 +1,6 @@
 package com.suarez.expenses.month;
 
+import com.suarez.expenses.summary.MonthSummaryCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +15,11 @@ public class BudgetMonthService {
     private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
 
     private final BudgetMonthRepository budgetMonthRepository;
+    private final MonthSummaryCache monthSummaryCache;
 
-    public BudgetMonthService(BudgetMonthRepository budgetMonthRepository) {
+    public BudgetMonthService(BudgetMonthRepository budgetMonthRepository, MonthSummaryCache monthSummaryCache) {
         this.budgetMonthRepository = budgetMonthRepository;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
     @Transactional(readOnly = true)
@@ -27,7 +30,10 @@ public class BudgetMonthService {
     @Transactional
     public BudgetMonth getOrCreate(LocalDate monthStart) {
         return budgetMonthRepository.findByMonthStart(monthStart)
-                .orElseGet(() -> budgetMonthRepository.save(new BudgetMonth(monthStart, ZERO)));
+                .orElseGet(() -> {
+                    budgetMonthRepository.insertIfAbsent(monthStart, ZERO);
+                    return budgetMonthRepository.findByMonthStart(monthStart).orElseThrow();
+                });
     }
 
     @Transactional(readOnly = true)
@@ -42,6 +48,7 @@ public class BudgetMonthService {
         BudgetMonth month = getOrCreate(monthStart);
         month.setStartingBalance(scale(request.startingBalance()));
         BudgetMonth saved = budgetMonthRepository.save(month);
+        monthSummaryCache.invalidate(monthStart);
         return new MonthSettingsDto(YearMonthParser.format(saved.getMonthStart()), saved.getStartingBalance());
     }
 
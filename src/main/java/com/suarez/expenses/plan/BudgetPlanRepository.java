@@ -1,6 +1,8 @@
 package com.suarez.expenses.plan;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,5 +13,13 @@ public interface BudgetPlanRepository extends JpaRepository<BudgetPlan, Long> {
     Optional<BudgetPlan> findByBudgetMonthIdAndCategoryId(Long budgetMonthId, Long categoryId);
 
     boolean existsByCategoryId(Long categoryId);
+
+    @Query("""
+            select new com.suarez.expenses.plan.CategoryPlanTotal(c.id, c.type, sum(p.plannedAmount))
+            from BudgetPlan p join p.category c
+            where p.budgetMonth.id = :budgetMonthId
+            group by c.id, c.type
+            """)
+    List<CategoryPlanTotal> sumByCategory(@Param("budgetMonthId") Long budgetMonthId);
 }
 
@@ -0,0 +1,12 @@
+package com.suarez.expenses.plan;
+
+import com.suarez.expenses.category.CategoryType;
+
+import java.math.BigDecimal;
+
+public record CategoryPlanTotal(
+        Long categoryId,
+        CategoryType categoryType,
+        BigDecimal total
+) {
+}
@@ -6,6 +6,7 @@ import com.suarez.expenses.category.CategoryType;
 import com.suarez.expenses.common.BadRequestException;
 import com.suarez.expenses.month.BudgetMonth;
 import com.suarez.expenses.month.BudgetMonthService;
+import com.suarez.expenses.summary.MonthSummaryCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,15 +21,18 @@ public class PlanService {
     private final BudgetMonthService budgetMonthService;
     private final BudgetPlanRepository budgetPlanRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthSummaryCache monthSummaryCache;
 
     public PlanService(
             BudgetMonthService budgetMonthService,
             BudgetPlanRepository budgetPlanRepository,
-            CategoryRepository categoryRepository
+            CategoryRepository categoryRepository,
+            MonthSummaryCache monthSummaryCache
     ) {
         this.budgetMonthService = budgetMonthService;
         this.budgetPlanRepository = budgetPlanRepository;
         this.categoryRepository = categoryRepository;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
     @Transactional(readOnly = true)
@@ -77,6 +81,7 @@ public class PlanService {
             plan.setPlannedAmount(scale(item.plannedAmount()));
             budgetPlanRepository.save(plan);
         }
+        monthSummaryCache.invalidate(monthStart);
 
         return list(monthStart, type);
     }
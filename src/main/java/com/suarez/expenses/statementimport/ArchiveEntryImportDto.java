@@ -0,0 +1,8 @@
+package com.suarez.expenses.statementimport;
+
+public record ArchiveEntryImportDto(
+        String fileName,
+        ImportBatchStatus status,
+        ImportSummaryDto summary
+) {
+}
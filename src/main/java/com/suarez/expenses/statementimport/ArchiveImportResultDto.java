@@ -0,0 +1,26 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.List;
+
+public record ArchiveImportResultDto(
+        int inserted,
+        int skippedDuplicates,
+        int parseErrorCount,
+        int warningCount,
+        List<ArchiveEntryImportDto> entries,
+        List<String> skippedEntries
+) {
+    public static ArchiveImportResultDto from(List<ArchiveEntryImportDto> entries, List<String> skippedEntries) {
+        int inserted = 0;
+        int skippedDuplicates = 0;
+        int parseErrorCount = 0;
+        int warningCount = 0;
+        for (ArchiveEntryImportDto entry : entries) {
+            inserted += entry.summary().inserted();
+            skippedDuplicates += entry.summary().skippedDuplicates();
+            parseErrorCount += entry.summary().parseErrorCount();
+            warningCount += entry.summary().warningCount();
+        }
+        return new ArchiveImportResultDto(inserted, skippedDuplicates, parseErrorCount, warningCount, entries, skippedEntries);
+    }
+}
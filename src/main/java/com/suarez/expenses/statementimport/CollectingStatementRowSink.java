@@ -0,0 +1,33 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CollectingStatementRowSink implements StatementRowSink {
+
+    private final List<NormalizedStatementRow> rows = new ArrayList<>();
+    private final List<StatementIssue> issues = new ArrayList<>();
+
+    @Override
+    public void row(NormalizedStatementRow row) {
+        rows.add(row);
+    }
+
+    @Override
+    public void issue(StatementIssue issue) {
+        issues.add(issue);
+    }
+
+    public List<NormalizedStatementRow> rows() {
+        return rows;
+    }
+
+    public List<StatementIssue> issues() {
+        return issues;
+    }
+
+    public void replayTo(StatementRowSink sink) {
+        issues.forEach(sink::issue);
+        rows.forEach(sink::row);
+    }
+}
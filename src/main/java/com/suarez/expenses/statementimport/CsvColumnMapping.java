@@ -1,5 +1,7 @@
 package com.suarez.expenses.statementimport;
 
+import com.suarez.expenses.common.BadRequestException;
+
 public record CsvColumnMapping(
         int dateColumnIndex,
         int amountColumnIndex,
@@ -7,4 +9,52 @@ public record CsvColumnMapping(
         Integer categoryColumnIndex,
         Integer externalIdColumnIndex
 ) {
+    public static CsvColumnMapping fromRequest(
+            Integer dateColumnIndex,
+            Integer amountColumnIndex,
+            Integer descriptionColumnIndex,
+            Integer categoryColumnIndex,
+            Integer externalIdColumnIndex
+    ) {
+        boolean anyProvided = dateColumnIndex != null
+                || amountColumnIndex != null
+                || descriptionColumnIndex != null
+                || categoryColumnIndex != null
+                || externalIdColumnIndex != null;
+        if (!anyProvided) {
+            return null;
+        }
+
+        if (dateColumnIndex == null || amountColumnIndex == null || descriptionColumnIndex == null) {
+            throw new BadRequestException(
+                    "dateColumnIndex, amountColumnIndex, and descriptionColumnIndex are required when providing CSV mapping"
+            );
+        }
+
+        validateNonNegative("dateColumnIndex", dateColumnIndex);
+        validateNonNegative("amountColumnIndex", amountColumnIndex);
+        validateNonNegative("descriptionColumnIndex", descriptionColumnIndex);
+        validateNonNegativeIfPresent("categoryColumnIndex", categoryColumnIndex);
+        validateNonNegativeIfPresent("externalIdColumnIndex", externalIdColumnIndex);
+
+        return new CsvColumnMapping(
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex
+        );
+    }
+
+    private static void validateNonNegativeIfPresent(String field, Integer value) {
+        if (value != null) {
+            validateNonNegative(field, value);
+        }
+    }
+
+    private static void validateNonNegative(String field, int value) {
+        if (value < 0) {
+            throw new BadRequestException(field + " must be >= 0");
+        }
+    }
 }
@@ -10,6 +10,20 @@ public record CsvHeaderMappingPromptDto(
         Integer suggestedAmountColumnIndex,
         Integer suggestedDescriptionColumnIndex,
         Integer suggestedCategoryColumnIndex,
-        Integer suggestedExternalIdColumnIndex
+        Integer suggestedExternalIdColumnIndex,
+        String uploadToken
 ) {
+    public CsvHeaderMappingPromptDto withUploadToken(String token) {
+        return new CsvHeaderMappingPromptDto(
+                message,
+                columnCount,
+                sampleRow,
+                suggestedDateColumnIndex,
+                suggestedAmountColumnIndex,
+                suggestedDescriptionColumnIndex,
+                suggestedCategoryColumnIndex,
+                suggestedExternalIdColumnIndex,
+                token
+        );
+    }
 }
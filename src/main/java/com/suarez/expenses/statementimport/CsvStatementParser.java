@@ -10,23 +10,19 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
 @Component
 public class CsvStatementParser implements StatementParser {
 
-    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("M/d/yyyy"),
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy")
-    );
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
 
     private static final Set<String> DATE_HEADERS = Set.of(
             "date", "txn date", "transaction date", "posted date", "post date"
@@ -65,49 +61,88 @@ public class CsvStatementParser implements StatementParser {
         ALL_KNOWN_HEADERS.addAll(EXTERNAL_ID_HEADERS);
     }
 
+    private final ParallelRowProcessor parallelRowProcessor;
+    private final int chunkSize;
+
+    public CsvStatementParser(ParallelRowProcessor parallelRowProcessor, StatementImportProperties properties) {
+        this.parallelRowProcessor = parallelRowProcessor;
+        this.chunkSize = Math.max(1, properties.chunkSize());
+    }
+
     @Override
     public boolean supports(StatementFileType fileType) {
         return fileType == StatementFileType.CSV;
     }
 
     @Override
-    public StatementParseResult parse(InputStream inputStream) throws IOException {
-        return parse(inputStream, null);
+    public void parse(InputStream inputStream, StatementRowSink sink) throws IOException {
+        parse(inputStream, StatementFormat.UTF8_CSV, null, sink);
     }
 
-    public StatementParseResult parse(InputStream inputStream, CsvColumnMapping csvColumnMapping) throws IOException {
-        List<NormalizedStatementRow> rows = new ArrayList<>();
-        List<StatementIssue> issues = new ArrayList<>();
+    @Override
+    public void parse(InputStream inputStream, StatementFormat format, StatementRowSink sink) throws IOException {
+        parse(inputStream, format, null, sink);
+    }
 
-        CSVFormat format = CSVFormat.DEFAULT.builder()
-                .setIgnoreEmptyLines(true)
-                .setTrim(true)
-                .build();
+    public void parse(InputStream inputStream, CsvColumnMapping csvColumnMapping, StatementRowSink sink) throws IOException {
+        parse(inputStream, StatementFormat.UTF8_CSV, csvColumnMapping, sink);
+    }
 
-        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-             CSVParser parser = format.parse(reader)) {
-            List<CSVRecord> records = parser.getRecords();
-            if (records.isEmpty()) {
-                issues.add(StatementIssue.error(null, "CSV is empty"));
-                return new StatementParseResult(List.of(), issues);
+    public void parse(
+            InputStream inputStream,
+            StatementFormat format,
+            CsvColumnMapping csvColumnMapping,
+            StatementRowSink sink
+    ) throws IOException {
+        try (Reader reader = new InputStreamReader(inputStream, format.charset());
+             CSVParser parser = csvFormat(format).parse(reader)) {
+            Iterator<CSVRecord> records = parser.iterator();
+            if (!records.hasNext()) {
+                sink.issue(StatementIssue.error(null, "CSV is empty"));
+                return;
             }
 
-            CSVRecord firstRecord = records.getFirst();
+            CSVRecord firstRecord = records.next();
+            AmountColumn amountColumn = new AmountColumn(format.delimiter() == ';' ? DecimalStyle.COMMA : DecimalStyle.POINT);
             if (looksLikeHeader(firstRecord)) {
-                parseWithHeader(records, rows, issues);
+                parseWithHeader(firstRecord, records, amountColumn, sink);
             } else {
                 if (csvColumnMapping == null) {
-                    throw buildHeaderMappingRequired(firstRecord);
+                    throw new CsvHeaderMappingRequiredException(buildHeaderMappingPrompt(firstRecord));
                 }
-                parseWithoutHeader(records, csvColumnMapping, rows, issues);
+                parseWithoutHeader(firstRecord, records, csvColumnMapping, amountColumn, sink);
             }
         }
+    }
 
-        return new StatementParseResult(rows, issues);
+    public CsvHeaderMappingPromptDto findHeaderMappingPrompt(InputStream inputStream) throws IOException {
+        return findHeaderMappingPrompt(inputStream, StatementFormat.UTF8_CSV);
     }
 
-    private void parseWithHeader(List<CSVRecord> records, List<NormalizedStatementRow> rows, List<StatementIssue> issues) {
-        CSVRecord headerRecord = records.getFirst();
+    public CsvHeaderMappingPromptDto findHeaderMappingPrompt(InputStream inputStream, StatementFormat format) throws IOException {
+        try (Reader reader = new InputStreamReader(inputStream, format.charset());
+             CSVParser parser = csvFormat(format).parse(reader)) {
+            Iterator<CSVRecord> records = parser.iterator();
+            if (!records.hasNext()) {
+                return null;
+            }
+            CSVRecord firstRecord = records.next();
+            return looksLikeHeader(firstRecord) ? null : buildHeaderMappingPrompt(firstRecord);
+        }
+    }
+
+    private CSVFormat csvFormat(StatementFormat format) {
+        return format.delimiter() == ','
+                ? CSV_FORMAT
+                : CSV_FORMAT.builder().setDelimiter(format.delimiter()).build();
+    }
+
+    private void parseWithHeader(
+            CSVRecord headerRecord,
+            Iterator<CSVRecord> records,
+            AmountColumn amountColumn,
+            StatementRowSink sink
+    ) {
         Map<String, Integer> headerIndexByName = indexHeaderColumns(headerRecord);
         Integer dateIndex = findColumnIndex(headerIndexByName, DATE_HEADERS);
         Integer amountIndex = findColumnIndex(headerIndexByName, AMOUNT_HEADERS);
@@ -119,55 +154,109 @@ public class CsvStatementParser implements StatementParser {
         Integer externalIdIndex = findColumnIndex(headerIndexByName, EXTERNAL_ID_HEADERS);
 
         if (dateIndex == null) {
-            issues.add(StatementIssue.error(null, "CSV is missing a date column"));
+            sink.issue(StatementIssue.error(null, "CSV is missing a date column"));
             return;
         }
         if (amountIndex == null && debitIndex == null && creditIndex == null) {
-            issues.add(StatementIssue.error(null, "CSV is missing amount or debit/credit columns"));
+            sink.issue(StatementIssue.error(null, "CSV is missing amount or debit/credit columns"));
             return;
         }
 
-        for (int i = 1; i < records.size(); i++) {
-            CSVRecord record = records.get(i);
-            parseRecord(
-                    record,
-                    dateIndex,
-                    amountIndex,
-                    debitIndex,
-                    creditIndex,
-                    memoIndex,
-                    descriptionIndex,
-                    categoryIndex,
-                    externalIdIndex,
-                    rows,
-                    issues
-            );
-        }
+        ColumnFormats formats = new ColumnFormats(
+                dateIndex,
+                Arrays.asList(amountIndex, debitIndex, creditIndex),
+                amountColumn
+        );
+        parseRecords(new ArrayList<>(), records, formats, sink, (record, recordSink) -> parseRecord(
+                record,
+                dateIndex,
+                amountIndex,
+                debitIndex,
+                creditIndex,
+                memoIndex,
+                descriptionIndex,
+                categoryIndex,
+                externalIdIndex,
+                formats,
+                recordSink
+        ));
     }
 
     private void parseWithoutHeader(
-            List<CSVRecord> records,
+            CSVRecord firstRecord,
+            Iterator<CSVRecord> records,
             CsvColumnMapping mapping,
-            List<NormalizedStatementRow> rows,
-            List<StatementIssue> issues
+            AmountColumn amountColumn,
+            StatementRowSink sink
+    ) {
+        ColumnFormats formats = new ColumnFormats(
+                mapping.dateColumnIndex(),
+                Collections.singletonList(mapping.amountColumnIndex()),
+                amountColumn
+        );
+        parseRecords(
+                new ArrayList<>(List.of(firstRecord)),
+                records,
+                formats,
+                sink,
+                (record, recordSink) -> parseRecord(record, mapping, formats, recordSink)
+        );
+    }
+
+    private void parseRecords(
+            List<CSVRecord> leadingRecords,
+            Iterator<CSVRecord> records,
+            ColumnFormats formats,
+            StatementRowSink sink,
+            BiConsumer<CSVRecord, StatementRowSink> recordParser
     ) {
-        for (CSVRecord record : records) {
-            parseRecord(
-                    record,
-                    mapping.dateColumnIndex(),
-                    mapping.amountColumnIndex(),
-                    null,
-                    null,
-                    null,
-                    mapping.descriptionColumnIndex(),
-                    mapping.categoryColumnIndex(),
-                    mapping.externalIdColumnIndex(),
-                    rows,
-                    issues
-            );
+        leadingRecords.forEach(formats::sample);
+        while (!formats.isLocked() && leadingRecords.size() < chunkSize && records.hasNext()) {
+            CSVRecord record = records.next();
+            leadingRecords.add(record);
+            formats.sample(record);
+        }
+        formats.lockFallback();
+        leadingRecords.forEach(record -> recordParser.accept(record, sink));
+
+        if (!parallelRowProcessor.isParallel()) {
+            while (records.hasNext()) {
+                recordParser.accept(records.next(), sink);
+            }
+            return;
+        }
+
+        List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+        while (records.hasNext()) {
+            chunk.add(records.next());
+            if (chunk.size() >= chunkSize || !records.hasNext()) {
+                List<CollectingStatementRowSink> parsed = parallelRowProcessor.mapInOrder(chunk, record -> {
+                    CollectingStatementRowSink recordSink = new CollectingStatementRowSink();
+                    recordParser.accept(record, recordSink);
+                    return recordSink;
+                });
+                chunk.clear();
+                parsed.forEach(recordSink -> recordSink.replayTo(sink));
+            }
         }
     }
 
+    private void parseRecord(CSVRecord record, CsvColumnMapping mapping, ColumnFormats formats, StatementRowSink sink) {
+        parseRecord(
+                record,
+                mapping.dateColumnIndex(),
+                mapping.amountColumnIndex(),
+                null,
+                null,
+                null,
+                mapping.descriptionColumnIndex(),
+                mapping.categoryColumnIndex(),
+                mapping.externalIdColumnIndex(),
+                formats,
+                sink
+        );
+    }
+
     private void parseRecord(
             CSVRecord record,
             Integer dateIndex,
@@ -178,8 +267,8 @@ public class CsvStatementParser implements StatementParser {
             Integer descriptionIndex,
             Integer categoryIndex,
             Integer externalIdIndex,
-            List<NormalizedStatementRow> rows,
-            List<StatementIssue> issues
+            ColumnFormats formats,
+            StatementRowSink sink
     ) {
         Integer rowNumber = safeRowNumber(record);
         String dateRaw = get(record, dateIndex);
@@ -191,25 +280,27 @@ public class CsvStatementParser implements StatementParser {
         String categoryRaw = get(record, categoryIndex);
         String externalIdRaw = get(record, externalIdIndex);
 
-        LocalDate date = parseDate(dateRaw);
+        LocalDate date = formats.dates.parse(dateRaw);
         if (date == null) {
-            issues.add(StatementIssue.error(rowNumber, "Invalid or empty date"));
+            sink.issue(StatementIssue.error(rowNumber, "Invalid or empty date"));
             return;
         }
 
-        BigDecimal signedAmount = resolveAmount(amountRaw, debitRaw, creditRaw);
+        BigDecimal signedAmount = resolveAmount(amountRaw, debitRaw, creditRaw, formats.amounts);
         if (signedAmount == null) {
-            issues.add(StatementIssue.error(rowNumber, "Invalid or empty amount"));
+            sink.issue(StatementIssue.error(rowNumber, formats.amounts.conflicts(amountRaw, debitRaw, creditRaw)
+                    ? "Amount does not use the same decimal separator as the rest of the file"
+                    : "Invalid or empty amount"));
             return;
         }
 
         String description = memoRaw != null ? memoRaw : descriptionRaw;
         if (description == null) {
             description = "Imported transaction";
-            issues.add(StatementIssue.warning(rowNumber, "Missing description. Defaulted to Imported transaction"));
+            sink.issue(StatementIssue.warning(rowNumber, "Missing description. Defaulted to Imported transaction"));
         }
 
-        rows.add(new NormalizedStatementRow(
+        sink.row(new NormalizedStatementRow(
                 rowNumber,
                 date,
                 signedAmount,
@@ -237,14 +328,14 @@ public class CsvStatementParser implements StatementParser {
         return knownHeaderCellCount >= 2;
     }
 
-    private CsvHeaderMappingRequiredException buildHeaderMappingRequired(CSVRecord firstRecord) {
+    private CsvHeaderMappingPromptDto buildHeaderMappingPrompt(CSVRecord firstRecord) {
         List<String> sampleRow = new ArrayList<>();
         for (int i = 0; i < firstRecord.size(); i++) {
             sampleRow.add(normalize(firstRecord.get(i)));
         }
 
         CsvColumnMapping inferred = inferColumnMapping(firstRecord);
-        CsvHeaderMappingPromptDto prompt = new CsvHeaderMappingPromptDto(
+        return new CsvHeaderMappingPromptDto(
                 "CSV file has no recognizable header row. Provide column indexes to continue import.",
                 firstRecord.size(),
                 sampleRow,
@@ -252,9 +343,9 @@ public class CsvStatementParser implements StatementParser {
                 inferred == null ? null : inferred.amountColumnIndex(),
                 inferred == null ? null : inferred.descriptionColumnIndex(),
                 inferred == null ? null : inferred.categoryColumnIndex(),
-                inferred == null ? null : inferred.externalIdColumnIndex()
+                inferred == null ? null : inferred.externalIdColumnIndex(),
+                null
         );
-        return new CsvHeaderMappingRequiredException(prompt);
     }
 
     private CsvColumnMapping inferColumnMapping(CSVRecord record) {
@@ -324,7 +415,7 @@ public class CsvStatementParser implements StatementParser {
         return null;
     }
 
-    private String get(CSVRecord record, Integer columnIndex) {
+    private static String get(CSVRecord record, Integer columnIndex) {
         if (columnIndex == null || columnIndex < 0 || columnIndex >= record.size()) {
             return null;
         }
@@ -340,27 +431,21 @@ public class CsvStatementParser implements StatementParser {
     }
 
     private LocalDate parseDate(String raw) {
-        String value = normalize(raw);
-        if (value == null) {
-            return null;
-        }
-        for (DateTimeFormatter formatter : DATE_FORMATS) {
-            try {
-                return LocalDate.parse(value, formatter);
-            } catch (DateTimeParseException ignored) {
-            }
-        }
-        return null;
+        return new DateColumn().parse(raw);
     }
 
-    private BigDecimal resolveAmount(String amountRaw, String debitRaw, String creditRaw) {
-        BigDecimal amount = parseAmount(amountRaw);
+    private BigDecimal parseAmount(String raw) {
+        return new AmountColumn(DecimalStyle.POINT).parse(raw);
+    }
+
+    private BigDecimal resolveAmount(String amountRaw, String debitRaw, String creditRaw, AmountColumn amountColumn) {
+        BigDecimal amount = amountColumn.parse(amountRaw);
         if (amount != null) {
             return amount;
         }
 
-        BigDecimal debit = parseAmount(debitRaw);
-        BigDecimal credit = parseAmount(creditRaw);
+        BigDecimal debit = amountColumn.parse(debitRaw);
+        BigDecimal credit = amountColumn.parse(creditRaw);
         if (debit == null && credit == null) {
             return null;
         }
@@ -369,49 +454,344 @@ public class CsvStatementParser implements StatementParser {
         return normalizedCredit.subtract(normalizedDebit);
     }
 
-    private BigDecimal parseAmount(String raw) {
-        String value = normalize(raw);
+    private String normalizeHeader(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toLowerCase().replace("_", " ").replaceAll("\\s+", " ").trim();
+    }
+
+    private String normalize(String value) {
         if (value == null) {
             return null;
         }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static final class ColumnFormats {
 
-        boolean negative = false;
-        if (value.startsWith("(") && value.endsWith(")")) {
-            negative = true;
-            value = value.substring(1, value.length() - 1);
+        private final DateColumn dates = new DateColumn();
+        private final Integer dateIndex;
+        private final List<Integer> amountIndexes;
+        private final AmountColumn amounts;
+
+        private ColumnFormats(Integer dateIndex, List<Integer> amountIndexes, AmountColumn amounts) {
+            this.dateIndex = dateIndex;
+            this.amountIndexes = amountIndexes;
+            this.amounts = amounts;
         }
-        if (value.endsWith("-")) {
-            negative = true;
-            value = value.substring(0, value.length() - 1);
+
+        private boolean isLocked() {
+            return dates.isLocked() && amounts.isLocked();
         }
 
-        String cleaned = value.replace(",", "")
-                .replace("$", "")
-                .replace(" ", "");
-        if (cleaned.isBlank()) {
-            return null;
+        private void sample(CSVRecord record) {
+            dates.sample(get(record, dateIndex));
+            for (Integer amountIndex : amountIndexes) {
+                amounts.sample(get(record, amountIndex));
+            }
         }
 
-        try {
-            BigDecimal parsed = new BigDecimal(cleaned);
-            return negative ? parsed.negate() : parsed;
-        } catch (NumberFormatException ex) {
-            return null;
+        private void lockFallback() {
+            dates.lockFallback();
+            amounts.lockFallback();
         }
     }
 
-    private String normalizeHeader(String value) {
-        if (value == null) {
-            return "";
+    private static final class AmountColumn {
+
+        private final DecimalStyle fallback;
+        private DecimalStyle locked;
+
+        private AmountColumn(DecimalStyle fallback) {
+            this.fallback = fallback;
+        }
+
+        private boolean isLocked() {
+            return locked != null;
+        }
+
+        private void sample(String raw) {
+            RawAmount amount = RawAmount.of(raw);
+            if (locked == null && amount != null) {
+                locked = DecimalStyle.of(amount.digits());
+            }
+        }
+
+        private void lockFallback() {
+            if (locked == null) {
+                locked = fallback;
+            }
+        }
+
+        private boolean conflicts(String... raws) {
+            if (locked == null) {
+                return false;
+            }
+            for (String raw : raws) {
+                RawAmount amount = RawAmount.of(raw);
+                DecimalStyle own = amount == null ? null : DecimalStyle.of(amount.digits());
+                if (own != null && own != locked) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private BigDecimal parse(String raw) {
+            RawAmount amount = RawAmount.of(raw);
+            if (amount == null) {
+                return null;
+            }
+
+            DecimalStyle own = DecimalStyle.of(amount.digits());
+            if (locked != null && own != null && own != locked) {
+                return null;
+            }
+            DecimalStyle style = locked != null ? locked : own != null ? own : fallback;
+            BigDecimal parsed = style.parse(amount.digits());
+            if (parsed == null) {
+                return null;
+            }
+            return amount.negative() ? parsed.negate() : parsed;
         }
-        return value.toLowerCase().replace("_", " ").replaceAll("\\s+", " ").trim();
     }
 
-    private String normalize(String value) {
-        if (value == null) {
+    private record RawAmount(String digits, boolean negative) {
+
+        private static RawAmount of(String raw) {
+            String value = raw == null ? null : raw.trim();
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+
+            boolean negative = false;
+            if (value.startsWith("(") && value.endsWith(")")) {
+                negative = true;
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value.endsWith("-")) {
+                negative = true;
+                value = value.substring(0, value.length() - 1);
+            }
+            return new RawAmount(value.trim(), negative);
+        }
+    }
+
+    private enum DecimalStyle {
+        POINT('.', ','),
+        COMMA(',', '.');
+
+        private final char decimalSeparator;
+        private final char groupingSeparator;
+
+        DecimalStyle(char decimalSeparator, char groupingSeparator) {
+            this.decimalSeparator = decimalSeparator;
+            this.groupingSeparator = groupingSeparator;
+        }
+
+        private static DecimalStyle of(String value) {
+            int lastComma = value.lastIndexOf(',');
+            int lastPoint = value.lastIndexOf('.');
+            if (lastComma < 0 && lastPoint < 0) {
+                return null;
+            }
+            if (lastComma >= 0 && lastPoint >= 0) {
+                return lastComma > lastPoint ? COMMA : POINT;
+            }
+
+            char separator = lastComma >= 0 ? ',' : '.';
+            int last = Math.max(lastComma, lastPoint);
+            if (value.indexOf(separator) != last) {
+                return separator == ',' ? POINT : COMMA;
+            }
+            int fractionDigits = 0;
+            for (int i = last + 1; i < value.length() && Character.isDigit(value.charAt(i)); i++) {
+                fractionDigits++;
+            }
+            if (fractionDigits == 3) {
+                return null;
+            }
+            return separator == ',' ? COMMA : POINT;
+        }
+
+        private BigDecimal parse(String value) {
+            char[] cleaned = new char[value.length()];
+            int length = 0;
+            int digits = 0;
+            boolean plain = true;
+            boolean seenPoint = false;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == groupingSeparator || c == '$' || c == ' ') {
+                    continue;
+                }
+                if (c >= '0' && c <= '9') {
+                    digits++;
+                } else if (c == decimalSeparator && !seenPoint) {
+                    seenPoint = true;
+                    c = '.';
+                } else if (!((c == '-' || c == '+') && length == 0)) {
+                    plain = false;
+                }
+                cleaned[length++] = c;
+            }
+            if (length == 0) {
+                return null;
+            }
+            if (plain) {
+                return digits == 0 ? null : new BigDecimal(cleaned, 0, length);
+            }
+
+            try {
+                return new BigDecimal(cleaned, 0, length);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+
+    private static final class DateColumn {
+
+        private DateLayout locked;
+        private DateLayout fallback;
+
+        private boolean isLocked() {
+            return locked != null;
+        }
+
+        private void sample(String raw) {
+            String value = raw == null ? null : raw.trim();
+            if (locked != null || value == null || value.isEmpty()) {
+                return;
+            }
+
+            DateLayout first = null;
+            LocalDate firstDate = null;
+            boolean decisive = true;
+            for (DateLayout layout : DateLayout.values()) {
+                LocalDate date = layout.parse(value);
+                if (date == null) {
+                    continue;
+                }
+                if (first == null) {
+                    first = layout;
+                    firstDate = date;
+                } else if (!date.equals(firstDate)) {
+                    decisive = false;
+                }
+            }
+            if (first == null) {
+                return;
+            }
+            if (decisive) {
+                locked = first;
+            } else if (fallback == null) {
+                fallback = first;
+            }
+        }
+
+        private void lockFallback() {
+            if (locked == null) {
+                locked = fallback;
+            }
+        }
+
+        private LocalDate parse(String raw) {
+            String value = raw == null ? null : raw.trim();
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+
+            if (locked != null) {
+                LocalDate date = locked.parse(value);
+                if (date != null) {
+                    return date;
+                }
+            }
+            for (DateLayout layout : DateLayout.values()) {
+                if (layout == locked) {
+                    continue;
+                }
+                LocalDate date = layout.parse(value);
+                if (date != null) {
+                    return date;
+                }
+            }
             return null;
         }
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private enum DateLayout {
+        ISO {
+            @Override
+            LocalDate parse(String value) {
+                if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+                    return null;
+                }
+                return resolve(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10));
+            }
+        },
+        MONTH_DAY_PADDED {
+            @Override
+            LocalDate parse(String value) {
+                if (value.length() != 10 || value.charAt(2) != '/' || value.charAt(5) != '/') {
+                    return null;
+                }
+                return resolve(digits(value, 6, 10), digits(value, 0, 2), digits(value, 3, 5));
+            }
+        },
+        MONTH_DAY {
+            @Override
+            LocalDate parse(String value) {
+                int first = value.indexOf('/');
+                int second = first < 0 ? -1 : value.indexOf('/', first + 1);
+                if (first < 1 || first > 2 || second - first < 2 || second - first > 3 || value.length() - second != 5) {
+                    return null;
+                }
+                return resolve(digits(value, second + 1, value.length()), digits(value, 0, first), digits(value, first + 1, second));
+            }
+        },
+        YEAR_SLASH {
+            @Override
+            LocalDate parse(String value) {
+                if (value.length() != 10 || value.charAt(4) != '/' || value.charAt(7) != '/') {
+                    return null;
+                }
+                return resolve(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10));
+            }
+        },
+        DAY_MONTH_PADDED {
+            @Override
+            LocalDate parse(String value) {
+                if (value.length() != 10 || value.charAt(2) != '/' || value.charAt(5) != '/') {
+                    return null;
+                }
+                return resolve(digits(value, 6, 10), digits(value, 3, 5), digits(value, 0, 2));
+            }
+        };
+
+        abstract LocalDate parse(String value);
+
+        private static int digits(String value, int from, int to) {
+            int result = 0;
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                result = result * 10 + (c - '0');
+            }
+            return result;
+        }
+
+        private static LocalDate resolve(int year, int month, int day) {
+            if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+                return null;
+            }
+            YearMonth yearMonth = YearMonth.of(year, month);
+            return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
+        }
     }
 }
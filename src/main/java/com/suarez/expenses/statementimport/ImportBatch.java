@@ -4,6 +4,7 @@ import com.suarez.expenses.account.Account;
 import jakarta.persistence.*;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(
@@ -34,6 +35,9 @@ public class ImportBatch {
     @Column(nullable = false, length = 40)
     private ImportBatchStatus status;
 
+    @Column(name = "parsed_row_count")
+    private Integer parsedRowCount;
+
     @Column(name = "inserted_count", nullable = false)
     private int insertedCount;
 
@@ -52,6 +56,12 @@ public class ImportBatch {
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    @Column(name = "reverted_count")
+    private Integer revertedCount;
+
+    @Column(name = "reverted_at")
+    private Instant revertedAt;
+
     protected ImportBatch() {
     }
 
@@ -60,7 +70,7 @@ public class ImportBatch {
         this.fileName = fileName;
         this.fileType = fileType;
         this.status = status;
-        this.createdAt = createdAt;
+        this.createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
     }
 
     public Long getId() {
@@ -83,6 +93,10 @@ public class ImportBatch {
         return status;
     }
 
+    public Integer getParsedRowCount() {
+        return parsedRowCount;
+    }
+
     public int getInsertedCount() {
         return insertedCount;
     }
@@ -107,19 +121,49 @@ public class ImportBatch {
         return completedAt;
     }
 
+    public Integer getRevertedCount() {
+        return revertedCount;
+    }
+
+    public Instant getRevertedAt() {
+        return revertedAt;
+    }
+
+    public void recordProgress(
+            int parsedRowCount,
+            int insertedCount,
+            int skippedDuplicatesCount,
+            int parseErrorCount,
+            int warningCount
+    ) {
+        this.parsedRowCount = parsedRowCount;
+        this.insertedCount = insertedCount;
+        this.skippedDuplicatesCount = skippedDuplicatesCount;
+        this.parseErrorCount = parseErrorCount;
+        this.warningCount = warningCount;
+    }
+
+    public void markProcessing() {
+        this.status = ImportBatchStatus.PROCESSING;
+    }
+
+    public void markReverted(int revertedCount, Instant revertedAt) {
+        this.status = ImportBatchStatus.REVERTED;
+        this.revertedCount = revertedCount;
+        this.revertedAt = revertedAt;
+    }
+
     public void complete(
             ImportBatchStatus status,
+            int parsedRowCount,
             int insertedCount,
             int skippedDuplicatesCount,
             int parseErrorCount,
             int warningCount,
             Instant completedAt
     ) {
+        recordProgress(parsedRowCount, insertedCount, skippedDuplicatesCount, parseErrorCount, warningCount);
         this.status = status;
-        this.insertedCount = insertedCount;
-        this.skippedDuplicatesCount = skippedDuplicatesCount;
-        this.parseErrorCount = parseErrorCount;
-        this.warningCount = warningCount;
         this.completedAt = completedAt;
     }
 }
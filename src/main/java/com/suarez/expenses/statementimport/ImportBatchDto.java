@@ -0,0 +1,40 @@
+package com.suarez.expenses.statementimport;
+
+import java.time.Instant;
+
+public record ImportBatchDto(
+        Long id,
+        Long accountId,
+        String fileName,
+        StatementFileType fileType,
+        ImportBatchStatus status,
+        Integer rowsParsed,
+        int inserted,
+        int skippedDuplicates,
+        int parseErrors,
+        int warnings,
+        Instant createdAt,
+        Instant completedAt,
+        Integer revertedCount,
+        Instant revertedAt
+) {
+    public static ImportBatchDto from(ImportBatch batch, ImportProgress progress) {
+        boolean live = progress != null && batch.getStatus() == ImportBatchStatus.PROCESSING;
+        return new ImportBatchDto(
+                batch.getId(),
+                batch.getAccount().getId(),
+                batch.getFileName(),
+                batch.getFileType(),
+                batch.getStatus(),
+                live ? Integer.valueOf(progress.rowsParsed()) : batch.getParsedRowCount(),
+                live ? progress.inserted() : batch.getInsertedCount(),
+                live ? progress.skippedDuplicates() : batch.getSkippedDuplicatesCount(),
+                batch.getParseErrorCount(),
+                batch.getWarningCount(),
+                batch.getCreatedAt(),
+                batch.getCompletedAt(),
+                batch.getRevertedCount(),
+                batch.getRevertedAt()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.suarez.expenses.statementimport;
+
+public record ImportBatchIssueDto(
+        Long id,
+        ImportIssueSeverity severity,
+        Integer rowNumber,
+        String message
+) {
+    public static ImportBatchIssueDto from(ImportIssue issue) {
+        return new ImportBatchIssueDto(issue.getId(), issue.getSeverity(), issue.getRowNumber(), issue.getMessage());
+    }
+}
@@ -0,0 +1,9 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.List;
+
+public record ImportBatchPageDto(
+        List<ImportBatchDto> items,
+        String nextCursor
+) {
+}
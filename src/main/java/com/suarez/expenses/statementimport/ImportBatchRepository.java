@@ -1,6 +1,34 @@
 package com.suarez.expenses.statementimport;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 public interface ImportBatchRepository extends JpaRepository<ImportBatch, Long> {
+    Optional<ImportBatch> findByIdAndAccountId(Long id, Long accountId);
+
+    @Query("""
+            select b from ImportBatch b
+            where b.account.id = :accountId
+            order by b.createdAt desc, b.id desc
+            """)
+    List<ImportBatch> findHistory(@Param("accountId") Long accountId, Limit limit);
+
+    @Query("""
+            select b from ImportBatch b
+            where b.account.id = :accountId
+              and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id))
+            order by b.createdAt desc, b.id desc
+            """)
+    List<ImportBatch> findHistoryBefore(
+            @Param("accountId") Long accountId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
 }
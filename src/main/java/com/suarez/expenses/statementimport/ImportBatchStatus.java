@@ -1,8 +1,11 @@
 package com.suarez.expenses.statementimport;
 
 public enum ImportBatchStatus {
+    QUEUED,
     PROCESSING,
     COMPLETED,
     COMPLETED_WITH_WARNINGS,
-    FAILED
+    PARTIALLY_COMPLETED,
+    FAILED,
+    REVERTED
 }
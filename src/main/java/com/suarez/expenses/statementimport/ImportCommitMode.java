@@ -0,0 +1,6 @@
+package com.suarez.expenses.statementimport;
+
+public enum ImportCommitMode {
+    SINGLE_TRANSACTION,
+    CHUNKED
+}
@@ -0,0 +1,9 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.List;
+
+public record ImportIssuePageDto(
+        List<ImportBatchIssueDto> items,
+        String nextCursor
+) {
+}
@@ -1,6 +1,30 @@
 package com.suarez.expenses.statementimport;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ImportIssueRepository extends JpaRepository<ImportIssue, Long> {
+
+    @Query("""
+            select i from ImportIssue i
+            where i.importBatch.id = :batchId and i.id > :afterId
+            order by i.id
+            """)
+    List<ImportIssue> findPage(@Param("batchId") Long batchId, @Param("afterId") long afterId, Limit limit);
+
+    @Query("""
+            select i from ImportIssue i
+            where i.importBatch.id = :batchId and i.severity = :severity and i.id > :afterId
+            order by i.id
+            """)
+    List<ImportIssue> findPageBySeverity(
+            @Param("batchId") Long batchId,
+            @Param("severity") ImportIssueSeverity severity,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
 }
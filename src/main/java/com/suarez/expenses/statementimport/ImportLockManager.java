@@ -0,0 +1,64 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.ServiceUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class ImportLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public ImportLockManager(StatementImportProperties properties) {
+        this.stripes = new ReentrantLock[Math.max(1, properties.accountLockStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        Duration timeout = properties.accountLockTimeout() == null ? Duration.ofSeconds(30) : properties.accountLockTimeout();
+        this.timeoutMillis = Math.max(0, timeout.toMillis());
+    }
+
+    public <T> T withAccountLock(Long accountId, Supplier<T> work) {
+        ReentrantLock lock = stripeFor(accountId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for another import on this account");
+        }
+        if (!acquired) {
+            throw new ServiceUnavailableException("Another statement import for this account is still running. Try again later");
+        }
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T awaitAccountLock(Long accountId, Supplier<T> work) {
+        ReentrantLock lock = stripeFor(accountId);
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for another import on this account", ex);
+        }
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(Long accountId) {
+        int hash = Long.hashCode(accountId) * 0x9E3779B9;
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+}
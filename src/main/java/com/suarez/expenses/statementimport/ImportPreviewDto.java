@@ -0,0 +1,16 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.List;
+
+public record ImportPreviewDto(
+        int rowsParsed,
+        int toInsert,
+        int skippedDuplicates,
+        int parseErrorCount,
+        int warningCount,
+        List<String> newCategories,
+        List<ImportPreviewRowDto> sampleRows,
+        List<ImportIssueDto> sampleParseErrors,
+        List<ImportIssueDto> sampleWarnings
+) {
+}
@@ -0,0 +1,18 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ImportPreviewRowDto(
+        Integer rowNumber,
+        LocalDate date,
+        TransactionType type,
+        BigDecimal amount,
+        String description,
+        String category,
+        String externalId,
+        boolean duplicate
+) {
+}
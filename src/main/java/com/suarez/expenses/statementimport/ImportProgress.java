@@ -0,0 +1,8 @@
+package com.suarez.expenses.statementimport;
+
+public record ImportProgress(
+        int rowsParsed,
+        int inserted,
+        int skippedDuplicates
+) {
+}
@@ -0,0 +1,35 @@
+package com.suarez.expenses.statementimport;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ImportProgressRegistry {
+
+    private final Map<Long, ImportProgress> progressByBatchId = new ConcurrentHashMap<>();
+
+    public void update(Long batchId, ImportProgress progress) {
+        progressByBatchId.put(batchId, progress);
+    }
+
+    public ImportProgress find(Long batchId) {
+        return progressByBatchId.get(batchId);
+    }
+
+    public void finish(Long batchId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            progressByBatchId.remove(batchId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                progressByBatchId.remove(batchId);
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.suarez.expenses.statementimport;
+
+import java.util.Locale;
+
+public enum ImportStage {
+    READ,
+    PARSE,
+    NORMALIZE,
+    TRANSACTION_ASSEMBLY,
+    CATEGORY_RESOLUTION,
+    INSERT,
+    ISSUE_PERSISTENCE;
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
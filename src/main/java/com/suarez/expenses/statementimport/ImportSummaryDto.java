@@ -7,6 +7,10 @@ public record ImportSummaryDto(
         int inserted,
         int skippedDuplicates,
         List<ImportIssueDto> parseErrors,
-        List<ImportIssueDto> warnings
+        List<ImportIssueDto> warnings,
+        int parseErrorCount,
+        int warningCount,
+        boolean issuesTruncated,
+        String issuesUrl
 ) {
 }
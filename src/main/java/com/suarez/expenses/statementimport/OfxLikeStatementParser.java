@@ -4,21 +4,17 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.YearMonth;
+import java.util.Objects;
 
 @Component
 public class OfxLikeStatementParser implements StatementParser {
 
-    private static final Pattern STMT_TRANSACTION_PATTERN = Pattern.compile("(?is)<STMTTRN>(.*?)</STMTTRN>");
-    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String STMTTRN = "STMTTRN";
 
     @Override
     public boolean supports(StatementFileType fileType) {
@@ -26,63 +22,93 @@ public class OfxLikeStatementParser implements StatementParser {
     }
 
     @Override
-    public StatementParseResult parse(InputStream inputStream) throws IOException {
-        String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-        List<NormalizedStatementRow> rows = new ArrayList<>();
-        List<StatementIssue> issues = new ArrayList<>();
+    public void parse(InputStream inputStream, StatementRowSink sink) throws IOException {
+        parse(inputStream, StatementFormat.utf8(StatementFileType.OFX), sink);
+    }
+
+    @Override
+    public void parse(InputStream inputStream, StatementFormat format, StatementRowSink sink) throws IOException {
+        Reader reader = new InputStreamReader(inputStream, format.charset());
+        OfxTokenizer tokenizer = new OfxTokenizer(reader);
 
-        Matcher matcher = STMT_TRANSACTION_PATTERN.matcher(content);
+        TransactionFields fields = null;
+        String currentTag = null;
         int rowNumber = 0;
-        while (matcher.find()) {
-            rowNumber++;
-            String block = matcher.group(1);
-
-            LocalDate date = parseOfxDate(extractTag(block, "DTPOSTED"));
-            if (date == null) {
-                issues.add(StatementIssue.error(rowNumber, "Invalid or missing DTPOSTED"));
-                continue;
+        OfxTokenizer.TokenType tokenType;
+        while ((tokenType = tokenizer.next(fields != null && currentTag != null)) != OfxTokenizer.TokenType.END) {
+            switch (tokenType) {
+                case START_TAG -> {
+                    if (STMTTRN.equals(tokenizer.value())) {
+                        fields = new TransactionFields();
+                        currentTag = null;
+                    } else if (fields != null) {
+                        currentTag = tokenizer.value();
+                    }
+                }
+                case TEXT -> {
+                    if (fields != null && currentTag != null) {
+                        fields.accept(currentTag, firstLine(tokenizer.value()));
+                    }
+                    currentTag = null;
+                }
+                case END_TAG -> {
+                    if (fields != null && STMTTRN.equals(tokenizer.value())) {
+                        rowNumber++;
+                        emitRow(rowNumber, fields, sink);
+                        fields = null;
+                    }
+                    currentTag = null;
+                }
+                default -> {
+                }
             }
+        }
 
-            BigDecimal signedAmount = parseAmount(extractTag(block, "TRNAMT"));
-            if (signedAmount == null) {
-                issues.add(StatementIssue.error(rowNumber, "Invalid or missing TRNAMT"));
-                continue;
-            }
+        if (rowNumber == 0) {
+            sink.issue(StatementIssue.error(null, "No STMTTRN entries were found"));
+        }
+    }
 
-            String description = firstNonBlank(
-                    extractTag(block, "NAME"),
-                    extractTag(block, "MEMO"),
-                    extractTag(block, "PAYEE")
-            );
-            if (description == null) {
-                description = "Imported transaction";
-                issues.add(StatementIssue.warning(rowNumber, "Missing NAME/MEMO. Defaulted to Imported transaction"));
-            }
+    private void emitRow(int rowNumber, TransactionFields fields, StatementRowSink sink) {
+        LocalDate date = parseOfxDate(fields.datePosted);
+        if (date == null) {
+            sink.issue(StatementIssue.error(rowNumber, "Invalid or missing DTPOSTED"));
+            return;
+        }
 
-            rows.add(new NormalizedStatementRow(
-                    rowNumber,
-                    date,
-                    signedAmount,
-                    description,
-                    normalize(extractTag(block, "FITID")),
-                    null
-            ));
+        BigDecimal signedAmount = parseAmount(fields.amount);
+        if (signedAmount == null) {
+            sink.issue(StatementIssue.error(rowNumber, "Invalid or missing TRNAMT"));
+            return;
         }
 
-        if (rowNumber == 0) {
-            issues.add(StatementIssue.error(null, "No STMTTRN entries were found"));
+        String description = firstNonBlank(fields.name, fields.memo, fields.payee);
+        if (description == null) {
+            description = "Imported transaction";
+            sink.issue(StatementIssue.warning(rowNumber, "Missing NAME/MEMO. Defaulted to Imported transaction"));
         }
 
-        return new StatementParseResult(rows, issues);
+        sink.row(new NormalizedStatementRow(
+                rowNumber,
+                date,
+                signedAmount,
+                description,
+                normalize(fields.fitId),
+                null
+        ));
     }
 
-    private String extractTag(String block, String tag) {
-        Pattern pattern = Pattern.compile("(?is)<" + Pattern.quote(tag) + ">([^<\\r\\n]+)");
-        Matcher matcher = pattern.matcher(block);
-        if (!matcher.find()) {
+    private String firstLine(String text) {
+        if (text == null) {
             return null;
         }
-        return matcher.group(1).trim();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\r' || c == '\n') {
+                return normalize(text.substring(0, i));
+            }
+        }
+        return normalize(text);
     }
 
     private LocalDate parseOfxDate(String value) {
@@ -90,15 +116,26 @@ public class OfxLikeStatementParser implements StatementParser {
         if (normalized == null) {
             return null;
         }
-        String digitsOnly = normalized.replaceAll("[^0-9]", "");
-        if (digitsOnly.length() < 8) {
+        int packedDate = 0;
+        int digitCount = 0;
+        for (int i = 0; i < normalized.length() && digitCount < 8; i++) {
+            char c = normalized.charAt(i);
+            if (c >= '0' && c <= '9') {
+                packedDate = packedDate * 10 + (c - '0');
+                digitCount++;
+            }
+        }
+        if (digitCount < 8) {
             return null;
         }
-        try {
-            return LocalDate.parse(digitsOnly.substring(0, 8), OFX_DATE);
-        } catch (DateTimeParseException ex) {
+        int year = packedDate / 10_000;
+        int month = packedDate / 100 % 100;
+        int day = packedDate % 100;
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
             return null;
         }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
     }
 
     private BigDecimal parseAmount(String raw) {
@@ -131,4 +168,29 @@ public class OfxLikeStatementParser implements StatementParser {
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
+
+    private static final class TransactionFields {
+        private String datePosted;
+        private String amount;
+        private String name;
+        private String memo;
+        private String payee;
+        private String fitId;
+
+        private void accept(String tag, String value) {
+            if (value == null) {
+                return;
+            }
+            switch (tag) {
+                case "DTPOSTED" -> datePosted = Objects.requireNonNullElse(datePosted, value);
+                case "TRNAMT" -> amount = Objects.requireNonNullElse(amount, value);
+                case "NAME" -> name = Objects.requireNonNullElse(name, value);
+                case "MEMO" -> memo = Objects.requireNonNullElse(memo, value);
+                case "PAYEE" -> payee = Objects.requireNonNullElse(payee, value);
+                case "FITID" -> fitId = Objects.requireNonNullElse(fitId, value);
+                default -> {
+                }
+            }
+        }
+    }
 }
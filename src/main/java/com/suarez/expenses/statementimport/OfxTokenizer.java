@@ -0,0 +1,108 @@
+package com.suarez.expenses.statementimport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+public class OfxTokenizer {
+
+    public enum TokenType {
+        START_TAG,
+        END_TAG,
+        TEXT,
+        END
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder scratch = new StringBuilder(128);
+    private int position;
+    private int limit;
+    private String value;
+
+    public OfxTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    public TokenType next(boolean captureText) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                value = null;
+                return TokenType.END;
+            }
+            if (c == '<') {
+                TokenType tagType = readTag();
+                if (tagType != null) {
+                    return tagType;
+                }
+                continue;
+            }
+            readText((char) c, captureText);
+            return TokenType.TEXT;
+        }
+    }
+
+    public String value() {
+        return value;
+    }
+
+    private TokenType readTag() throws IOException {
+        scratch.setLength(0);
+        int c = read();
+        boolean closing = c == '/';
+        if (closing) {
+            c = read();
+        }
+        boolean declaration = c == '?' || c == '!';
+        while (c != -1 && c != '>') {
+            if (!declaration) {
+                scratch.append((char) c);
+            }
+            c = read();
+        }
+        if (declaration) {
+            return null;
+        }
+        value = scratch.toString().trim().toUpperCase(Locale.ROOT);
+        return closing ? TokenType.END_TAG : TokenType.START_TAG;
+    }
+
+    private void readText(char first, boolean captureText) throws IOException {
+        if (captureText) {
+            scratch.setLength(0);
+            scratch.append(first);
+        }
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if (c == '<') {
+                break;
+            }
+            if (captureText) {
+                scratch.append(c);
+            }
+            position++;
+        }
+        value = captureText ? scratch.toString() : null;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
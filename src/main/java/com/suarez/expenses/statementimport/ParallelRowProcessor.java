@@ -0,0 +1,48 @@
+package com.suarez.expenses.statementimport;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+@Component
+public class ParallelRowProcessor {
+
+    private static final int MIN_SLICE_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public ParallelRowProcessor(@Qualifier("statementParsePool") ForkJoinPool pool) {
+        this.pool = pool;
+        this.parallelism = pool.getParallelism();
+    }
+
+    public boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    public <T, R> List<R> mapInOrder(List<T> items, Function<T, R> mapper) {
+        int slices = Math.min(parallelism, items.size() / MIN_SLICE_SIZE);
+        if (slices <= 1) {
+            return items.stream().map(mapper).toList();
+        }
+
+        int sliceSize = (items.size() + slices - 1) / slices;
+        List<ForkJoinTask<List<R>>> tasks = new ArrayList<>(slices);
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            List<T> slice = items.subList(from, Math.min(from + sliceSize, items.size()));
+            tasks.add(pool.submit(() -> slice.stream().map(mapper).toList()));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        for (ForkJoinTask<List<R>> task : tasks) {
+            results.addAll(task.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,136 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+@Component
+public class StatementArchiveExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementArchiveExtractor.class);
+
+    private final StatementFileTypeDetector fileTypeDetector;
+    private final StatementImportProperties properties;
+    private final long maxExtractedBytes;
+
+    public StatementArchiveExtractor(StatementFileTypeDetector fileTypeDetector, StatementImportProperties properties) {
+        this.fileTypeDetector = fileTypeDetector;
+        this.properties = properties;
+        this.maxExtractedBytes = properties.archiveMaxExtractedSize() == null
+                ? Long.MAX_VALUE
+                : properties.archiveMaxExtractedSize().toBytes();
+    }
+
+    public ExtractedArchive extract(InputStreamSource archive) {
+        List<ArchiveEntryFile> entries = new ArrayList<>();
+        List<String> skippedEntries = new ArrayList<>();
+        ExtractedArchive extracted = new ExtractedArchive(entries, skippedEntries);
+        long extractedBytes = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String fileName = entryFileName(entry.getName());
+                if (fileName.isEmpty() || fileName.startsWith(".") || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+
+                Path path = properties.createSpoolFile();
+                try {
+                    extractedBytes += copy(zip, path, maxExtractedBytes - extractedBytes);
+                } catch (IOException | RuntimeException ex) {
+                    Files.deleteIfExists(path);
+                    throw ex;
+                }
+
+                StatementFormat format = detect(fileName, path);
+                if (format == null) {
+                    Files.deleteIfExists(path);
+                    skippedEntries.add(entry.getName());
+                    continue;
+                }
+                entries.add(new ArchiveEntryFile(fileName, format, path));
+            }
+        } catch (ZipException ex) {
+            extracted.close();
+            throw new BadRequestException("Uploaded file is not a valid ZIP archive");
+        } catch (IOException ex) {
+            extracted.close();
+            throw new BadRequestException("Unable to read uploaded archive");
+        } catch (RuntimeException ex) {
+            extracted.close();
+            throw ex;
+        }
+
+        if (entries.isEmpty() && skippedEntries.isEmpty()) {
+            throw new BadRequestException("Archive does not contain any files");
+        }
+        return extracted;
+    }
+
+    private long copy(InputStream in, Path target, long remainingBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > remainingBytes) {
+                    throw new BadRequestException("Archive is too large to import");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return copied;
+    }
+
+    private StatementFormat detect(String fileName, Path path) throws IOException {
+        try (BufferedInputStream inputStream = new BufferedInputStream(Files.newInputStream(path))) {
+            return fileTypeDetector.detect(fileName, inputStream);
+        } catch (BadRequestException ex) {
+            return null;
+        }
+    }
+
+    private String entryFileName(String entryName) {
+        String normalized = entryName.replace('\\', '/');
+        return normalized.substring(normalized.lastIndexOf('/') + 1).trim();
+    }
+
+    public record ArchiveEntryFile(String fileName, StatementFormat format, Path path) {
+    }
+
+    public record ExtractedArchive(
+            List<ArchiveEntryFile> entries,
+            List<String> skippedEntries
+    ) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            for (ArchiveEntryFile entry : entries) {
+                try {
+                    Files.deleteIfExists(entry.path());
+                } catch (IOException ex) {
+                    log.warn("Unable to delete extracted archive entry {}", entry.path(), ex);
+                }
+            }
+        }
+    }
+}
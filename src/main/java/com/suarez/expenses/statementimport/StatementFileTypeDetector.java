@@ -3,23 +3,188 @@ package com.suarez.expenses.statementimport;
 import com.suarez.expenses.common.BadRequestException;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @Component
 public class StatementFileTypeDetector {
 
+    private static final int SNIFF_BYTES = 8192;
+    private static final int SNIFF_LINES = 20;
+    private static final char[] DELIMITERS = {',', ';', '\t', '|'};
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final Pattern SGML_CHARSET = Pattern.compile("CHARSET:\\s*([A-Z0-9-]+)");
+    private static final Pattern XML_ENCODING = Pattern.compile("ENCODING\\s*=\\s*[\"']([A-Z0-9._-]+)[\"']");
+
     public StatementFileType detect(String fileName) {
         if (fileName == null || fileName.isBlank()) {
             throw new BadRequestException("File name is required");
         }
         int dotIndex = fileName.lastIndexOf('.');
         if (dotIndex < 0 || dotIndex == fileName.length() - 1) {
-            throw new BadRequestException("Unsupported file extension. Allowed: csv, ofx, qfx");
+            throw new BadRequestException("Unsupported file extension. Allowed: csv, tsv, ofx, qfx");
         }
         String extension = fileName.substring(dotIndex + 1).toLowerCase();
         return switch (extension) {
-            case "csv" -> StatementFileType.CSV;
+            case "csv", "tsv" -> StatementFileType.CSV;
             case "ofx" -> StatementFileType.OFX;
             case "qfx" -> StatementFileType.QFX;
-            default -> throw new BadRequestException("Unsupported file extension. Allowed: csv, ofx, qfx");
+            default -> throw new BadRequestException("Unsupported file extension. Allowed: csv, tsv, ofx, qfx");
         };
     }
+
+    public StatementFormat detect(String fileName, BufferedInputStream inputStream) throws IOException {
+        StatementFileType declaredType = detect(fileName);
+        inputStream.mark(SNIFF_BYTES);
+        byte[] head = inputStream.readNBytes(SNIFF_BYTES);
+        inputStream.reset();
+
+        Bom bom = Bom.of(head);
+        inputStream.skipNBytes(bom == null ? 0 : bom.length);
+        int offset = bom == null ? 0 : bom.length;
+
+        Charset charset = bom != null ? bom.charset : textCharset(head, offset);
+        String text = new String(head, offset, head.length - offset, charset);
+        String upper = text.toUpperCase(Locale.ROOT);
+        if (upper.contains("OFXHEADER") || upper.contains("<OFX>")) {
+            StatementFileType ofxType = declaredType == StatementFileType.QFX ? StatementFileType.QFX : StatementFileType.OFX;
+            return new StatementFormat(ofxType, bom != null ? bom.charset : ofxCharset(upper, charset), ',');
+        }
+
+        Character delimiter = sniffDelimiter(text, head.length == SNIFF_BYTES);
+        if (delimiter != null) {
+            return new StatementFormat(StatementFileType.CSV, charset, delimiter);
+        }
+
+        if (declaredType != StatementFileType.CSV) {
+            throw new BadRequestException("File content does not look like an OFX or QFX statement");
+        }
+        return new StatementFormat(StatementFileType.CSV, charset, ',');
+    }
+
+    private Charset ofxCharset(String upperHead, Charset detected) {
+        Matcher xmlEncoding = XML_ENCODING.matcher(upperHead);
+        if (xmlEncoding.find()) {
+            Charset declared = charsetOrNull(xmlEncoding.group(1));
+            if (declared != null) {
+                return declared;
+            }
+        }
+        Matcher sgmlCharset = SGML_CHARSET.matcher(upperHead);
+        if (sgmlCharset.find()) {
+            String declared = sgmlCharset.group(1);
+            if (declared.equals("1252")) {
+                return WINDOWS_1252;
+            }
+            if (declared.contains("8859-1")) {
+                return StandardCharsets.ISO_8859_1;
+            }
+        }
+        return detected;
+    }
+
+    private Charset textCharset(byte[] head, int offset) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.wrap(head, offset, head.length - offset);
+        CharBuffer chars = CharBuffer.allocate(head.length);
+        return decoder.decode(bytes, chars, false).isError() ? WINDOWS_1252 : StandardCharsets.UTF_8;
+    }
+
+    private Character sniffDelimiter(String text, boolean truncated) {
+        String[] lines = text.split("\r\n|\n|\r");
+        int lineCount = Math.min(SNIFF_LINES, truncated && lines.length > 1 ? lines.length - 1 : lines.length);
+
+        Character best = null;
+        int bestScore = 0;
+        for (char delimiter : DELIMITERS) {
+            int consistentCount = -1;
+            boolean consistent = true;
+            int minCount = Integer.MAX_VALUE;
+            int nonEmptyLines = 0;
+            for (int i = 0; i < lineCount; i++) {
+                if (lines[i].isBlank()) {
+                    continue;
+                }
+                nonEmptyLines++;
+                int count = countOutsideQuotes(lines[i], delimiter);
+                minCount = Math.min(minCount, count);
+                if (consistentCount == -1) {
+                    consistentCount = count;
+                } else if (consistentCount != count) {
+                    consistent = false;
+                }
+            }
+            if (nonEmptyLines == 0 || minCount == 0) {
+                continue;
+            }
+            int score = consistent ? minCount * 2 + 1 : minCount * 2;
+            if (score > bestScore) {
+                bestScore = score;
+                best = delimiter;
+            }
+        }
+        return best;
+    }
+
+    private int countOutsideQuotes(String line, char delimiter) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Charset charsetOrNull(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+            return null;
+        }
+    }
+
+    private enum Bom {
+        UTF_8(StandardCharsets.UTF_8, 3),
+        UTF_16LE(StandardCharsets.UTF_16LE, 2),
+        UTF_16BE(StandardCharsets.UTF_16BE, 2);
+
+        private final Charset charset;
+        private final int length;
+
+        Bom(Charset charset, int length) {
+            this.charset = charset;
+            this.length = length;
+        }
+
+        private static Bom of(byte[] head) {
+            if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+                return UTF_8;
+            }
+            if (head.length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+                return UTF_16LE;
+            }
+            if (head.length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+                return UTF_16BE;
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.suarez.expenses.statementimport;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public record StatementFormat(
+        StatementFileType fileType,
+        Charset charset,
+        char delimiter
+) {
+    public static final StatementFormat UTF8_CSV = new StatementFormat(StatementFileType.CSV, StandardCharsets.UTF_8, ',');
+
+    public static StatementFormat utf8(StatementFileType fileType) {
+        return new StatementFormat(fileType, StandardCharsets.UTF_8, ',');
+    }
+}
@@ -1,7 +1,9 @@
 package com.suarez.expenses.statementimport;
 
+import com.suarez.expenses.common.BadRequestException;
 import org.springframework.http.MediaType;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -10,16 +12,22 @@ import org.springframework.web.multipart.MultipartFile;
 public class StatementImportController {
 
     private final StatementImportService statementImportService;
+    private final StatementImportJobService statementImportJobService;
 
-    public StatementImportController(StatementImportService statementImportService) {
+    public StatementImportController(
+            StatementImportService statementImportService,
+            StatementImportJobService statementImportJobService
+    ) {
         this.statementImportService = statementImportService;
+        this.statementImportJobService = statementImportJobService;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public StatementImportResponseDto importStatement(
             @PathVariable Long accountId,
-            @RequestPart("file") MultipartFile file,
+            @RequestPart(name = "file", required = false) MultipartFile file,
+            @RequestParam(required = false) String uploadToken,
             @RequestParam(required = false) Integer dateColumnIndex,
             @RequestParam(required = false) Integer amountColumnIndex,
             @RequestParam(required = false) Integer descriptionColumnIndex,
@@ -30,6 +38,32 @@ public class StatementImportController {
         return statementImportService.importStatement(
                 accountId,
                 file,
+                uploadToken,
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex,
+                saveHeaderMapping
+        );
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = "async=true")
+    public ResponseEntity<StatementImportResponseDto> importStatementAsync(
+            @PathVariable Long accountId,
+            @RequestPart(name = "file", required = false) MultipartFile file,
+            @RequestParam(required = false) String uploadToken,
+            @RequestParam(required = false) Integer dateColumnIndex,
+            @RequestParam(required = false) Integer amountColumnIndex,
+            @RequestParam(required = false) Integer descriptionColumnIndex,
+            @RequestParam(required = false) Integer categoryColumnIndex,
+            @RequestParam(required = false) Integer externalIdColumnIndex,
+            @RequestParam(defaultValue = "false") boolean saveHeaderMapping
+    ) {
+        StatementImportResponseDto response = statementImportJobService.submit(
+                accountId,
+                file,
+                uploadToken,
                 dateColumnIndex,
                 amountColumnIndex,
                 descriptionColumnIndex,
@@ -37,5 +71,89 @@ public class StatementImportController {
                 externalIdColumnIndex,
                 saveHeaderMapping
         );
+        HttpStatus status = response.status() == StatementImportResponseStatus.PROCESSING
+                ? HttpStatus.ACCEPTED
+                : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = "preview=true")
+    public StatementImportResponseDto previewStatement(
+            @PathVariable Long accountId,
+            @RequestPart(name = "file", required = false) MultipartFile file,
+            @RequestParam(required = false) String uploadToken,
+            @RequestParam(required = false) Integer dateColumnIndex,
+            @RequestParam(required = false) Integer amountColumnIndex,
+            @RequestParam(required = false) Integer descriptionColumnIndex,
+            @RequestParam(required = false) Integer categoryColumnIndex,
+            @RequestParam(required = false) Integer externalIdColumnIndex
+    ) {
+        return statementImportService.previewImport(
+                accountId,
+                file,
+                uploadToken,
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex
+        );
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, params = {"async=true", "preview=true"})
+    public StatementImportResponseDto previewStatementAsync(@PathVariable Long accountId) {
+        throw new BadRequestException("Previews run synchronously. Pass either async=true or preview=true, not both");
+    }
+
+    @PostMapping(path = "/archive", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public ArchiveImportResultDto importArchive(
+            @PathVariable Long accountId,
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) Integer dateColumnIndex,
+            @RequestParam(required = false) Integer amountColumnIndex,
+            @RequestParam(required = false) Integer descriptionColumnIndex,
+            @RequestParam(required = false) Integer categoryColumnIndex,
+            @RequestParam(required = false) Integer externalIdColumnIndex
+    ) {
+        return statementImportService.importArchive(
+                accountId,
+                file,
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex
+        );
+    }
+
+    @GetMapping
+    public ImportBatchPageDto getHistory(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return statementImportService.getHistory(accountId, cursor, limit);
+    }
+
+    @GetMapping("/{batchId}/issues")
+    public ImportIssuePageDto getIssues(
+            @PathVariable Long accountId,
+            @PathVariable Long batchId,
+            @RequestParam(required = false) ImportIssueSeverity severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return statementImportService.getIssues(accountId, batchId, severity, cursor, limit);
+    }
+
+    @GetMapping("/{batchId}")
+    public ImportBatchDto getBatch(@PathVariable Long accountId, @PathVariable Long batchId) {
+        return statementImportService.getBatch(accountId, batchId);
+    }
+
+    @DeleteMapping("/{batchId}")
+    public ImportBatchDto revertBatch(@PathVariable Long accountId, @PathVariable Long batchId) {
+        return statementImportService.revertBatch(accountId, batchId);
     }
 }
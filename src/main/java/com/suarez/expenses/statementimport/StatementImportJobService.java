@@ -0,0 +1,145 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.BadRequestException;
+import com.suarez.expenses.common.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Service
+public class StatementImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementImportJobService.class);
+
+    private final StatementImportService statementImportService;
+    private final ThreadPoolTaskExecutor statementImportExecutor;
+    private final StatementUploadCache statementUploadCache;
+    private final StatementImportProperties properties;
+
+    public StatementImportJobService(
+            StatementImportService statementImportService,
+            ThreadPoolTaskExecutor statementImportExecutor,
+            StatementUploadCache statementUploadCache,
+            StatementImportProperties properties
+    ) {
+        this.statementImportService = statementImportService;
+        this.statementImportExecutor = statementImportExecutor;
+        this.statementUploadCache = statementUploadCache;
+        this.properties = properties;
+    }
+
+    public StatementImportResponseDto submit(
+            Long accountId,
+            MultipartFile file,
+            String uploadToken,
+            Integer dateColumnIndex,
+            Integer amountColumnIndex,
+            Integer descriptionColumnIndex,
+            Integer categoryColumnIndex,
+            Integer externalIdColumnIndex,
+            boolean saveHeaderMapping
+    ) {
+        boolean uploaded = file != null && !file.isEmpty();
+        if (!uploaded && (uploadToken == null || uploadToken.isBlank())) {
+            throw new BadRequestException("File is required");
+        }
+        CsvColumnMapping requestedCsvMapping = CsvColumnMapping.fromRequest(
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex
+        );
+
+        String fileName;
+        Path spooledFile;
+        if (uploaded) {
+            fileName = file.getOriginalFilename();
+            spooledFile = spool(file);
+        } else {
+            StatementUploadCache.CachedUpload cached = statementUploadCache.require(accountId, uploadToken.trim());
+            try {
+                fileName = cached.fileName();
+                spooledFile = spool(cached);
+            } finally {
+                statementUploadCache.release(cached);
+            }
+        }
+        StatementImportResponseDto response;
+        try {
+            response = statementImportService.queueImport(accountId, fileName, spooledFile, requestedCsvMapping);
+        } catch (RuntimeException ex) {
+            deleteQuietly(spooledFile);
+            throw ex;
+        }
+        if (response.status() != StatementImportResponseStatus.PROCESSING) {
+            deleteQuietly(spooledFile);
+            return response;
+        }
+
+        Long batchId = response.batch().id();
+        try {
+            statementImportExecutor.execute(() -> run(batchId, spooledFile, requestedCsvMapping, saveHeaderMapping));
+        } catch (TaskRejectedException ex) {
+            deleteQuietly(spooledFile);
+            statementImportService.failQueuedImport(batchId, "Import queue is full");
+            throw new ServiceUnavailableException("Too many statement imports in progress. Try again later");
+        }
+        return response;
+    }
+
+    private void run(Long batchId, Path spooledFile, CsvColumnMapping requestedCsvMapping, boolean saveHeaderMapping) {
+        try {
+            statementImportService.runQueuedImport(batchId, spooledFile, requestedCsvMapping, saveHeaderMapping);
+        } catch (RuntimeException ex) {
+            log.warn("Statement import {} failed", batchId, ex);
+            statementImportService.failQueuedImport(batchId, "Import failed: " + ex.getMessage());
+        } finally {
+            deleteQuietly(spooledFile);
+        }
+    }
+
+    private Path spool(MultipartFile file) {
+        try {
+            Path spooledFile = properties.createSpoolFile();
+            file.transferTo(spooledFile);
+            return spooledFile;
+        } catch (IOException ex) {
+            throw new BadRequestException("Unable to read uploaded file");
+        }
+    }
+
+    private Path spool(InputStreamSource source) {
+        Path spooledFile = null;
+        try {
+            spooledFile = properties.createSpoolFile();
+            try (InputStream inputStream = source.getInputStream()) {
+                Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return spooledFile;
+        } catch (IOException ex) {
+            if (spooledFile != null) {
+                deleteQuietly(spooledFile);
+            }
+            throw new BadRequestException("Unable to read uploaded file");
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Unable to delete spooled statement upload {}", path, ex);
+        }
+    }
+}
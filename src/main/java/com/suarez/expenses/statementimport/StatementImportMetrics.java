@@ -0,0 +1,157 @@
+package com.suarez.expenses.statementimport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class StatementImportMetrics {
+
+    private static final String UNKNOWN_FILE_TYPE = "unknown";
+
+    private final MeterRegistry registry;
+    private final Map<String, FileTypeGauges> gauges = new ConcurrentHashMap<>();
+
+    public StatementImportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(ImportStage stage, StatementFileType fileType, Supplier<T> work) {
+        long started = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, fileType, System.nanoTime() - started);
+        }
+    }
+
+    public void time(ImportStage stage, StatementFileType fileType, Runnable work) {
+        long started = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(stage, fileType, System.nanoTime() - started);
+        }
+    }
+
+    public void record(ImportStage stage, StatementFileType fileType, long nanos) {
+        Timer.builder("statement.import.stage")
+                .description("Time spent in each statement import stage")
+                .tag("stage", stage.tagValue())
+                .tag("file.type", fileTypeTag(fileType))
+                .register(registry)
+                .record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordImport(
+            StatementFileType fileType,
+            ImportBatchStatus status,
+            long nanos,
+            int parsedRows,
+            int inserted,
+            int skippedDuplicates,
+            int parseErrors,
+            int warnings
+    ) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordCommittedImport(fileType, status, nanos, parsedRows, inserted, skippedDuplicates, parseErrors, warnings);
+                }
+            });
+            return;
+        }
+        recordCommittedImport(fileType, status, nanos, parsedRows, inserted, skippedDuplicates, parseErrors, warnings);
+    }
+
+    private void recordCommittedImport(
+            StatementFileType fileType,
+            ImportBatchStatus status,
+            long nanos,
+            int parsedRows,
+            int inserted,
+            int skippedDuplicates,
+            int parseErrors,
+            int warnings
+    ) {
+        String fileTypeTag = fileTypeTag(fileType);
+        Timer.builder("statement.import.duration")
+                .description("End-to-end duration of statement imports")
+                .tag("file.type", fileTypeTag)
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("statement.import.file.rows")
+                .description("Rows parsed per imported statement")
+                .tag("file.type", fileTypeTag)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(parsedRows);
+
+        rows(fileTypeTag, "parsed").increment(parsedRows);
+        rows(fileTypeTag, "inserted").increment(inserted);
+        rows(fileTypeTag, "skipped_duplicate").increment(skippedDuplicates);
+        rows(fileTypeTag, "parse_error").increment(parseErrors);
+        rows(fileTypeTag, "warning").increment(warnings);
+
+        FileTypeGauges fileTypeGauges = gauges.computeIfAbsent(fileTypeTag, this::registerGauges);
+        fileTypeGauges.insertedRows.addAndGet(inserted);
+        fileTypeGauges.skippedRows.addAndGet(skippedDuplicates);
+        if (nanos > 0) {
+            fileTypeGauges.rowsPerSecond.set(Math.round(parsedRows * 1_000_000_000d / nanos));
+        }
+    }
+
+    private Counter rows(String fileTypeTag, String outcome) {
+        return Counter.builder("statement.import.rows")
+                .description("Statement rows by import outcome")
+                .tag("file.type", fileTypeTag)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private FileTypeGauges registerGauges(String fileTypeTag) {
+        FileTypeGauges fileTypeGauges = new FileTypeGauges();
+        Gauge.builder("statement.import.throughput", fileTypeGauges.rowsPerSecond, AtomicLong::get)
+                .description("Rows per second of the most recent import")
+                .baseUnit("rows/s")
+                .tag("file.type", fileTypeTag)
+                .register(registry);
+        Gauge.builder("statement.import.duplicate.ratio", fileTypeGauges, FileTypeGauges::duplicateRatio)
+                .description("Share of valid rows skipped as duplicates")
+                .tag("file.type", fileTypeTag)
+                .register(registry);
+        return fileTypeGauges;
+    }
+
+    private String fileTypeTag(StatementFileType fileType) {
+        return fileType == null ? UNKNOWN_FILE_TYPE : fileType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class FileTypeGauges {
+
+        private final AtomicLong rowsPerSecond = new AtomicLong();
+        private final AtomicLong insertedRows = new AtomicLong();
+        private final AtomicLong skippedRows = new AtomicLong();
+
+        private double duplicateRatio() {
+            long skipped = skippedRows.get();
+            long total = skipped + insertedRows.get();
+            return total == 0 ? 0 : (double) skipped / total;
+        }
+    }
+}
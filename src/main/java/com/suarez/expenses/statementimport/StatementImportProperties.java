@@ -0,0 +1,37 @@
+package com.suarez.expenses.statementimport;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "expenses.statement-import")
+public record StatementImportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("SINGLE_TRANSACTION") ImportCommitMode commitMode,
+        @DefaultValue("500") int writeBatchSize,
+        @DefaultValue("1") int parseWorkers,
+        @DefaultValue("50") int previewSampleSize,
+        @DefaultValue("100") int inlineIssueLimit,
+        @DefaultValue("15m") Duration uploadCacheTtl,
+        @DefaultValue("200MB") DataSize uploadCacheMaxSize,
+        @DefaultValue("1GB") DataSize archiveMaxExtractedSize,
+        @DefaultValue("64") int accountLockStripes,
+        @DefaultValue("30s") Duration accountLockTimeout,
+        @DefaultValue("2") int asyncWorkers,
+        @DefaultValue("10") int asyncQueueCapacity,
+        Path spoolDirectory
+) {
+
+    public Path createSpoolFile() throws IOException {
+        if (spoolDirectory == null) {
+            return Files.createTempFile("statement-import-", ".upload");
+        }
+        Files.createDirectories(spoolDirectory);
+        return Files.createTempFile(spoolDirectory, "statement-import-", ".upload");
+    }
+}
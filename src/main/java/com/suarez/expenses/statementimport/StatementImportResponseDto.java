@@ -3,13 +3,23 @@ package com.suarez.expenses.statementimport;
 public record StatementImportResponseDto(
         StatementImportResponseStatus status,
         ImportSummaryDto summary,
-        CsvHeaderMappingPromptDto headerMappingPrompt
+        CsvHeaderMappingPromptDto headerMappingPrompt,
+        ImportBatchDto batch,
+        ImportPreviewDto preview
 ) {
     public static StatementImportResponseDto completed(ImportSummaryDto summary) {
-        return new StatementImportResponseDto(StatementImportResponseStatus.COMPLETED, summary, null);
+        return new StatementImportResponseDto(StatementImportResponseStatus.COMPLETED, summary, null, null, null);
     }
 
     public static StatementImportResponseDto headerMappingRequired(CsvHeaderMappingPromptDto prompt) {
-        return new StatementImportResponseDto(StatementImportResponseStatus.HEADER_MAPPING_REQUIRED, null, prompt);
+        return new StatementImportResponseDto(StatementImportResponseStatus.HEADER_MAPPING_REQUIRED, null, prompt, null, null);
+    }
+
+    public static StatementImportResponseDto processing(ImportBatchDto batch) {
+        return new StatementImportResponseDto(StatementImportResponseStatus.PROCESSING, null, null, batch, null);
+    }
+
+    public static StatementImportResponseDto preview(ImportPreviewDto preview) {
+        return new StatementImportResponseDto(StatementImportResponseStatus.PREVIEW, null, null, null, preview);
     }
 }
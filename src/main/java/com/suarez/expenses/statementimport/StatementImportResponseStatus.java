@@ -2,5 +2,7 @@ package com.suarez.expenses.statementimport;
 
 public enum StatementImportResponseStatus {
     COMPLETED,
-    HEADER_MAPPING_REQUIRED
+    HEADER_MAPPING_REQUIRED,
+    PROCESSING,
+    PREVIEW
 }
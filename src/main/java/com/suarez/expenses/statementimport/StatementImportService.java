@@ -6,87 +6,202 @@ import com.suarez.expenses.category.Category;
 import com.suarez.expenses.category.CategoryRepository;
 import com.suarez.expenses.category.CategoryType;
 import com.suarez.expenses.common.BadRequestException;
+import com.suarez.expenses.common.NotFoundException;
 import com.suarez.expenses.month.BudgetMonth;
 import com.suarez.expenses.month.BudgetMonthService;
+import com.suarez.expenses.summary.MonthCategoryTotalsService;
+import com.suarez.expenses.summary.MonthSummaryCache;
 import com.suarez.expenses.transaction.BudgetTransaction;
 import com.suarez.expenses.transaction.BudgetTransactionRepository;
 import com.suarez.expenses.transaction.TransactionType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class StatementImportService {
 
     private static final String IMPORTED_EXPENSE_CATEGORY = "Imported Expense";
     private static final String IMPORTED_INCOME_CATEGORY = "Imported Income";
+    private static final int IN_LIST_LIMIT = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
     private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
 
     private final AccountService accountService;
     private final CategoryRepository categoryRepository;
-    private final BudgetMonthService budgetMonthService;
     private final BudgetTransactionRepository budgetTransactionRepository;
+    private final BudgetMonthService budgetMonthService;
     private final ImportBatchRepository importBatchRepository;
     private final ImportIssueRepository importIssueRepository;
     private final StatementParserRegistry statementParserRegistry;
     private final StatementFileTypeDetector fileTypeDetector;
     private final CsvStatementParser csvStatementParser;
     private final AccountCsvHeaderMappingRepository accountCsvHeaderMappingRepository;
+    private final ImportProgressRegistry importProgressRegistry;
+    private final StatementImportWriter statementImportWriter;
+    private final ParallelRowProcessor parallelRowProcessor;
+    private final StatementUploadCache statementUploadCache;
+    private final StatementArchiveExtractor statementArchiveExtractor;
+    private final ImportLockManager importLockManager;
+    private final StatementImportMetrics metrics;
+    private final MonthCategoryTotalsService monthCategoryTotalsService;
+    private final MonthSummaryCache monthSummaryCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate importTransaction;
+    private final TransactionTemplate abortTransaction;
+    private final ImportCommitMode commitMode;
+    private final int chunkSize;
+    private final int previewSampleSize;
+    private final int inlineIssueLimit;
 
     public StatementImportService(
             AccountService accountService,
             CategoryRepository categoryRepository,
-            BudgetMonthService budgetMonthService,
             BudgetTransactionRepository budgetTransactionRepository,
+            BudgetMonthService budgetMonthService,
             ImportBatchRepository importBatchRepository,
             ImportIssueRepository importIssueRepository,
             StatementParserRegistry statementParserRegistry,
             StatementFileTypeDetector fileTypeDetector,
             CsvStatementParser csvStatementParser,
-            AccountCsvHeaderMappingRepository accountCsvHeaderMappingRepository
+            AccountCsvHeaderMappingRepository accountCsvHeaderMappingRepository,
+            ImportProgressRegistry importProgressRegistry,
+            StatementImportWriter statementImportWriter,
+            ParallelRowProcessor parallelRowProcessor,
+            StatementUploadCache statementUploadCache,
+            StatementArchiveExtractor statementArchiveExtractor,
+            ImportLockManager importLockManager,
+            StatementImportMetrics metrics,
+            MonthCategoryTotalsService monthCategoryTotalsService,
+            MonthSummaryCache monthSummaryCache,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            StatementImportProperties properties
     ) {
         this.accountService = accountService;
         this.categoryRepository = categoryRepository;
-        this.budgetMonthService = budgetMonthService;
         this.budgetTransactionRepository = budgetTransactionRepository;
+        this.budgetMonthService = budgetMonthService;
         this.importBatchRepository = importBatchRepository;
         this.importIssueRepository = importIssueRepository;
         this.statementParserRegistry = statementParserRegistry;
         this.fileTypeDetector = fileTypeDetector;
         this.csvStatementParser = csvStatementParser;
         this.accountCsvHeaderMappingRepository = accountCsvHeaderMappingRepository;
+        this.importProgressRegistry = importProgressRegistry;
+        this.statementImportWriter = statementImportWriter;
+        this.parallelRowProcessor = parallelRowProcessor;
+        this.statementUploadCache = statementUploadCache;
+        this.statementArchiveExtractor = statementArchiveExtractor;
+        this.importLockManager = importLockManager;
+        this.metrics = metrics;
+        this.monthCategoryTotalsService = monthCategoryTotalsService;
+        this.monthSummaryCache = monthSummaryCache;
+        this.entityManager = entityManager;
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.abortTransaction = new TransactionTemplate(transactionManager);
+        this.abortTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.commitMode = properties.commitMode() == null ? ImportCommitMode.SINGLE_TRANSACTION : properties.commitMode();
+        this.chunkSize = Math.max(1, properties.chunkSize());
+        this.previewSampleSize = Math.max(0, properties.previewSampleSize());
+        this.inlineIssueLimit = Math.max(0, properties.inlineIssueLimit());
+    }
+
+    public StatementImportResponseDto importStatement(
+            Long accountId,
+            MultipartFile file,
+            Integer dateColumnIndex,
+            Integer amountColumnIndex,
+            Integer descriptionColumnIndex,
+            Integer categoryColumnIndex,
+            Integer externalIdColumnIndex,
+            boolean saveHeaderMapping
+    ) {
+        return importStatement(
+                accountId,
+                file,
+                null,
+                dateColumnIndex,
+                amountColumnIndex,
+                descriptionColumnIndex,
+                categoryColumnIndex,
+                externalIdColumnIndex,
+                saveHeaderMapping
+        );
     }
 
-    @Transactional
     public StatementImportResponseDto importStatement(
             Long accountId,
             MultipartFile file,
+            String uploadToken,
             Integer dateColumnIndex,
             Integer amountColumnIndex,
             Integer descriptionColumnIndex,
             Integer categoryColumnIndex,
             Integer externalIdColumnIndex,
             boolean saveHeaderMapping
+    ) {
+        try (UploadedStatement upload = resolveUpload(accountId, file, uploadToken)) {
+            String fileName = upload.fileName();
+            CsvColumnMapping requestedCsvMapping = CsvColumnMapping.fromRequest(
+                    dateColumnIndex,
+                    amountColumnIndex,
+                    descriptionColumnIndex,
+                    categoryColumnIndex,
+                    externalIdColumnIndex
+            );
+
+            Long lockedAccountId = accountService.resolveAccount(accountId).getId();
+            return importLockManager.withAccountLock(lockedAccountId, () -> inImportTransaction(() -> {
+                Account account = accountService.resolveAccount(lockedAccountId);
+                ImportSession session = new ImportSession(account, fileName, null, null);
+                return runImport(session, upload.source(), requestedCsvMapping, saveHeaderMapping);
+            }));
+        }
+    }
+
+    public ArchiveImportResultDto importArchive(
+            Long accountId,
+            MultipartFile file,
+            Integer dateColumnIndex,
+            Integer amountColumnIndex,
+            Integer descriptionColumnIndex,
+            Integer categoryColumnIndex,
+            Integer externalIdColumnIndex
     ) {
         if (file == null || file.isEmpty()) {
             throw new BadRequestException("File is required");
         }
-
-        Account account = accountService.resolveAccount(accountId);
-        String fileName = normalizeFileName(file.getOriginalFilename());
-        StatementFileType fileType = fileTypeDetector.detect(fileName);
-        CsvColumnMapping requestedCsvMapping = parseCsvColumnMappingRequest(
+        CsvColumnMapping requestedCsvMapping = CsvColumnMapping.fromRequest(
                 dateColumnIndex,
                 amountColumnIndex,
                 descriptionColumnIndex,
@@ -94,222 +209,488 @@ public class StatementImportService {
                 externalIdColumnIndex
         );
 
-        StatementParseResult parseResult;
-        try (InputStream inputStream = file.getInputStream()) {
-            if (fileType == StatementFileType.CSV) {
-                CsvColumnMapping effectiveMapping = requestedCsvMapping != null
+        Long lockedAccountId = accountService.resolveAccount(accountId).getId();
+        try (StatementArchiveExtractor.ExtractedArchive archive = statementArchiveExtractor.extract(file)) {
+            return importLockManager.withAccountLock(lockedAccountId, () -> inImportTransaction(() -> {
+                Account account = accountService.resolveAccount(lockedAccountId);
+                CsvColumnMapping csvMapping = requestedCsvMapping != null
                         ? requestedCsvMapping
                         : loadSavedCsvMapping(account.getId());
-                parseResult = csvStatementParser.parse(inputStream, effectiveMapping);
-            } else {
-                parseResult = statementParserRegistry.parse(fileType, inputStream);
-            }
-        } catch (CsvHeaderMappingRequiredException ex) {
-            return StatementImportResponseDto.headerMappingRequired(ex.getPrompt());
-        } catch (IOException ex) {
-            ImportSummaryDto summary = completeImport(
-                    account,
-                    fileName,
-                    fileType,
-                    List.of(),
-                    List.of(StatementIssue.error(null, "Unable to read uploaded file"))
-            );
-            return StatementImportResponseDto.completed(summary);
-        } catch (RuntimeException ex) {
-            ImportSummaryDto summary = completeImport(
-                    account,
-                    fileName,
-                    fileType,
-                    List.of(),
-                    List.of(StatementIssue.error(null, "Unable to parse statement: " + ex.getMessage()))
-            );
-            return StatementImportResponseDto.completed(summary);
+                return importArchiveEntries(account, archive, csvMapping);
+            }));
         }
+    }
 
-        if (fileType == StatementFileType.CSV && requestedCsvMapping != null && saveHeaderMapping) {
-            upsertSavedCsvMapping(account, requestedCsvMapping);
-        }
+    @Transactional(readOnly = true)
+    public StatementImportResponseDto previewImport(
+            Long accountId,
+            MultipartFile file,
+            String uploadToken,
+            Integer dateColumnIndex,
+            Integer amountColumnIndex,
+            Integer descriptionColumnIndex,
+            Integer categoryColumnIndex,
+            Integer externalIdColumnIndex
+    ) {
+        try (UploadedStatement upload = resolveUpload(accountId, file, uploadToken)) {
+            Account account = accountService.resolveAccount(accountId);
+            CsvColumnMapping requestedCsvMapping = CsvColumnMapping.fromRequest(
+                    dateColumnIndex,
+                    amountColumnIndex,
+                    descriptionColumnIndex,
+                    categoryColumnIndex,
+                    externalIdColumnIndex
+            );
 
-        List<StatementIssue> allIssues = new ArrayList<>(parseResult.issues());
-        ImportSummaryDto summary = completeImport(account, fileName, fileType, parseResult.rows(), allIssues);
-        return StatementImportResponseDto.completed(summary);
+            PreviewSession session = new PreviewSession(account.getId());
+            StatementFormat format = null;
+            try (BufferedInputStream inputStream = new BufferedInputStream(upload.source().getInputStream())) {
+                format = fileTypeDetector.detect(upload.fileName(), inputStream);
+                parseStatement(format, account.getId(), requestedCsvMapping, inputStream, session);
+            } catch (CsvHeaderMappingRequiredException ex) {
+                return headerMappingRequired(account.getId(), upload.fileName(), upload.source(), ex.getPrompt());
+            } catch (IOException ex) {
+                if (format == null) {
+                    throw new BadRequestException("Unable to read uploaded file");
+                }
+                session.issue(StatementIssue.error(null, "Unable to read uploaded file"));
+            } catch (RuntimeException ex) {
+                if (format == null) {
+                    throw ex;
+                }
+                session.issue(StatementIssue.error(null, "Unable to parse statement: " + ex.getMessage()));
+            }
+            return StatementImportResponseDto.preview(session.finish());
+        }
     }
 
-    private ImportSummaryDto completeImport(
-            Account account,
-            String fileName,
-            StatementFileType fileType,
-            List<NormalizedStatementRow> parsedRows,
-            List<StatementIssue> issues
+    @Transactional
+    public StatementImportResponseDto queueImport(
+            Long accountId,
+            String originalFileName,
+            Path spooledFile,
+            CsvColumnMapping requestedCsvMapping
     ) {
+        Account account = accountService.resolveAccount(accountId);
+        String fileName = normalizeFileName(originalFileName);
+
+        StatementFileType fileType;
+        try (BufferedInputStream inputStream = new BufferedInputStream(Files.newInputStream(spooledFile))) {
+            StatementFormat format = fileTypeDetector.detect(fileName, inputStream);
+            fileType = format.fileType();
+            if (fileType == StatementFileType.CSV && requestedCsvMapping == null && loadSavedCsvMapping(account.getId()) == null) {
+                CsvHeaderMappingPromptDto prompt = csvStatementParser.findHeaderMappingPrompt(inputStream, format);
+                if (prompt != null) {
+                    return headerMappingRequired(account.getId(), fileName, new FileSystemResource(spooledFile), prompt);
+                }
+            }
+        } catch (IOException ex) {
+            throw new BadRequestException("Unable to read uploaded file");
+        }
+
         ImportBatch batch = importBatchRepository.save(new ImportBatch(
                 account,
                 fileName,
                 fileType,
-                ImportBatchStatus.PROCESSING,
+                ImportBatchStatus.QUEUED,
                 Instant.now()
         ));
+        return StatementImportResponseDto.processing(ImportBatchDto.from(batch, null));
+    }
 
-        Category fallbackExpenseCategory = getOrCreateImportCategory(CategoryType.EXPENSE, IMPORTED_EXPENSE_CATEGORY);
-        Category fallbackIncomeCategory = getOrCreateImportCategory(CategoryType.INCOME, IMPORTED_INCOME_CATEGORY);
-        Map<String, Category> categoryByTypeAndName = new HashMap<>();
-
-        List<CandidateTransaction> candidates = normalizeRows(parsedRows, issues);
-
-        Set<String> existingExternalIds = loadExistingExternalIds(account.getId(), candidates);
-        Set<String> existingFingerprints = loadExistingFingerprints(account.getId(), candidates);
-        Set<String> seenExternalIds = new HashSet<>(existingExternalIds);
-        Set<String> seenFingerprints = new HashSet<>(existingFingerprints);
+    public void runQueuedImport(Long batchId, Path spooledFile, CsvColumnMapping requestedCsvMapping, boolean saveHeaderMapping) {
+        ImportBatch queued = importBatchRepository.findById(batchId)
+                .orElseThrow(() -> new NotFoundException("Import batch not found: " + batchId));
+        StatementImportResponseDto response = importLockManager.awaitAccountLock(queued.getAccount().getId(), () -> {
+            importTransaction.executeWithoutResult(status -> importBatchRepository.findById(batchId).ifPresent(batch -> {
+                batch.markProcessing();
+                importBatchRepository.save(batch);
+            }));
+            return inImportTransaction(() -> {
+                ImportBatch batch = importBatchRepository.findById(batchId)
+                        .orElseThrow(() -> new NotFoundException("Import batch not found: " + batchId));
+                ImportSession session = new ImportSession(batch.getAccount(), batch.getFileName(), batch.getFileType(), batch);
+                return runImport(
+                        session,
+                        new FileSystemResource(spooledFile),
+                        requestedCsvMapping,
+                        saveHeaderMapping
+                );
+            });
+        });
+        if (response.status() == StatementImportResponseStatus.HEADER_MAPPING_REQUIRED) {
+            throw new BadRequestException(response.headerMappingPrompt().message());
+        }
+    }
 
-        Map<LocalDate, BudgetMonth> monthCache = new HashMap<>();
-        List<BudgetTransaction> toInsert = new ArrayList<>();
-        int skippedDuplicates = 0;
+    @Transactional
+    public void failQueuedImport(Long batchId, String message) {
+        importBatchRepository.findById(batchId)
+                .filter(batch -> batch.getStatus() == ImportBatchStatus.QUEUED
+                        || batch.getStatus() == ImportBatchStatus.PROCESSING)
+                .ifPresent(batch -> {
+                    importIssueRepository.save(new ImportIssue(batch, ImportIssueSeverity.ERROR, null, truncate(message, 500)));
+                    batch.complete(
+                            ImportBatchStatus.FAILED,
+                            batch.getParsedRowCount() == null ? 0 : batch.getParsedRowCount(),
+                            batch.getInsertedCount(),
+                            batch.getSkippedDuplicatesCount(),
+                            batch.getParseErrorCount() + 1,
+                            batch.getWarningCount(),
+                            Instant.now()
+                    );
+                    importBatchRepository.save(batch);
+                });
+        importProgressRegistry.finish(batchId);
+    }
 
-        for (CandidateTransaction candidate : candidates) {
-            boolean duplicateByExternalId = candidate.externalId() != null && seenExternalIds.contains(candidate.externalId());
-            boolean duplicateByFingerprint = seenFingerprints.contains(candidate.fingerprint());
-            if (duplicateByExternalId || duplicateByFingerprint) {
-                skippedDuplicates++;
-                continue;
+    public ImportBatchDto revertBatch(Long accountId, Long batchId) {
+        Long lockedAccountId = accountService.resolveAccount(accountId).getId();
+        return importLockManager.withAccountLock(lockedAccountId, () -> importTransaction.execute(status -> {
+            ImportBatch batch = importBatchRepository.findByIdAndAccountId(batchId, lockedAccountId)
+                    .orElseThrow(() -> new NotFoundException("Import batch not found: " + batchId));
+            if (batch.getStatus() == ImportBatchStatus.REVERTED) {
+                return ImportBatchDto.from(batch, null);
             }
-
-            if (candidate.externalId() != null) {
-                seenExternalIds.add(candidate.externalId());
+            if (batch.getStatus() == ImportBatchStatus.QUEUED || batch.getStatus() == ImportBatchStatus.PROCESSING) {
+                throw new BadRequestException("Import batch is still running: " + batchId);
             }
-            seenFingerprints.add(candidate.fingerprint());
 
-            BudgetMonth budgetMonth = monthCache.computeIfAbsent(
-                    candidate.date().withDayOfMonth(1),
-                    budgetMonthService::getOrCreate
-            );
+            budgetTransactionRepository.findMonthStartsByImportBatchId(batchId).forEach(monthSummaryCache::invalidate);
+            monthCategoryTotalsService.removeImportBatch(batchId);
+            int deleted = budgetTransactionRepository.deleteByImportBatchId(batchId);
+            ImportBatch reverted = importBatchRepository.findById(batchId).orElseThrow();
+            reverted.markReverted(deleted, Instant.now());
+            return ImportBatchDto.from(importBatchRepository.save(reverted), null);
+        }));
+    }
 
-            Category fallbackCategory = candidate.type() == TransactionType.EXPENSE ? fallbackExpenseCategory : fallbackIncomeCategory;
-            Category category = resolveCategoryForCandidate(
-                    candidate.type(),
-                    candidate.sourceCategory(),
-                    fallbackCategory,
-                    categoryByTypeAndName
-            );
+    @Transactional(readOnly = true)
+    public ImportBatchDto getBatch(Long accountId, Long batchId) {
+        ImportBatch batch = importBatchRepository.findByIdAndAccountId(batchId, accountId)
+                .orElseThrow(() -> new NotFoundException("Import batch not found: " + batchId));
+        return ImportBatchDto.from(batch, importProgressRegistry.find(batchId));
+    }
 
-            BudgetTransaction transaction = new BudgetTransaction(
-                    budgetMonth,
-                    account,
-                    candidate.type(),
-                    candidate.date(),
-                    candidate.amount(),
-                    candidate.description(),
-                    category
+    public ImportBatchPageDto getHistory(Long accountId, String cursor, Integer limit) {
+        Long resolvedAccountId = accountService.resolveAccount(accountId).getId();
+        int pageSize = pageSize(limit);
+        List<ImportBatch> batches;
+        if (cursor == null || cursor.isBlank()) {
+            batches = importBatchRepository.findHistory(resolvedAccountId, Limit.of(pageSize + 1));
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            batches = importBatchRepository.findHistoryBefore(
+                    resolvedAccountId,
+                    position.createdAt(),
+                    position.id(),
+                    Limit.of(pageSize + 1)
             );
-            transaction.setSourceExternalId(candidate.externalId());
-            transaction.setDedupeFingerprint(candidate.fingerprint());
-            transaction.setImportBatch(batch);
-            toInsert.add(transaction);
         }
 
-        if (!toInsert.isEmpty()) {
-            budgetTransactionRepository.saveAll(toInsert);
+        boolean hasMore = batches.size() > pageSize;
+        List<ImportBatch> page = hasMore ? batches.subList(0, pageSize) : batches;
+        String nextCursor = null;
+        if (hasMore) {
+            ImportBatch last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
         }
+        return new ImportBatchPageDto(
+                page.stream()
+                        .map(batch -> ImportBatchDto.from(batch, importProgressRegistry.find(batch.getId())))
+                        .toList(),
+                nextCursor
+        );
+    }
 
-        List<ImportIssue> persistedIssues = issues.stream()
-                .map(issue -> new ImportIssue(batch, issue.severity(), issue.rowNumber(), truncate(issue.message(), 500)))
-                .toList();
-        if (!persistedIssues.isEmpty()) {
-            importIssueRepository.saveAll(persistedIssues);
+    public ImportIssuePageDto getIssues(
+            Long accountId,
+            Long batchId,
+            ImportIssueSeverity severity,
+            String cursor,
+            Integer limit
+    ) {
+        importBatchRepository.findByIdAndAccountId(batchId, accountId)
+                .orElseThrow(() -> new NotFoundException("Import batch not found: " + batchId));
+        int pageSize = pageSize(limit);
+        long afterId = issueCursor(cursor);
+        List<ImportIssue> issues = severity == null
+                ? importIssueRepository.findPage(batchId, afterId, Limit.of(pageSize + 1))
+                : importIssueRepository.findPageBySeverity(batchId, severity, afterId, Limit.of(pageSize + 1));
+
+        boolean hasMore = issues.size() > pageSize;
+        List<ImportIssue> page = hasMore ? issues.subList(0, pageSize) : issues;
+        return new ImportIssuePageDto(
+                page.stream().map(ImportBatchIssueDto::from).toList(),
+                hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null
+        );
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
+        return limit;
+    }
 
-        List<StatementIssue> parseErrors = issues.stream()
-                .filter(issue -> issue.severity() == ImportIssueSeverity.ERROR)
-                .toList();
-        List<StatementIssue> warnings = issues.stream()
-                .filter(issue -> issue.severity() == ImportIssueSeverity.WARNING)
-                .toList();
+    private long issueCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
 
-        ImportBatchStatus status = resolveFinalStatus(parseErrors.size(), warnings.size());
-        batch.complete(
-                status,
-                toInsert.size(),
-                skippedDuplicates,
-                parseErrors.size(),
-                warnings.size(),
-                Instant.now()
-        );
-        importBatchRepository.save(batch);
-
-        return new ImportSummaryDto(
-                batch.getId(),
-                toInsert.size(),
-                skippedDuplicates,
-                parseErrors.stream().map(ImportIssueDto::from).toList(),
-                warnings.stream().map(ImportIssueDto::from).toList()
-        );
+    private static String issuesUrl(Long accountId, Long batchId) {
+        return "/api/accounts/" + accountId + "/statement-imports/" + batchId + "/issues";
     }
 
-    private List<CandidateTransaction> normalizeRows(List<NormalizedStatementRow> rows, List<StatementIssue> issues) {
-        List<CandidateTransaction> candidates = new ArrayList<>();
-        for (NormalizedStatementRow row : rows) {
-            if (row.date() == null) {
-                issues.add(StatementIssue.error(row.rowNumber(), "Row is missing a transaction date"));
-                continue;
+    private StatementImportResponseDto runImport(
+            ImportSession session,
+            InputStreamSource source,
+            CsvColumnMapping requestedCsvMapping,
+            boolean saveHeaderMapping
+    ) {
+        try {
+            return importInto(session, source, requestedCsvMapping, saveHeaderMapping);
+        } finally {
+            session.releaseProgress();
+        }
+    }
+
+    private StatementImportResponseDto importInto(
+            ImportSession session,
+            InputStreamSource source,
+            CsvColumnMapping requestedCsvMapping,
+            boolean saveHeaderMapping
+    ) {
+        StatementFormat format = null;
+        try (BufferedInputStream inputStream = new BufferedInputStream(source.getInputStream())) {
+            long readStarted = System.nanoTime();
+            format = fileTypeDetector.detect(session.fileName, inputStream);
+            session.fileType = format.fileType();
+            metrics.record(ImportStage.READ, session.fileType, System.nanoTime() - readStarted);
+            parseInto(session, format, requestedCsvMapping, inputStream);
+        } catch (CsvHeaderMappingRequiredException ex) {
+            return headerMappingRequired(session.account.getId(), session.fileName, source, ex.getPrompt());
+        } catch (ChunkWriteException ex) {
+            return StatementImportResponseDto.completed(abortOrRethrow(session, ex.getCause()));
+        } catch (IOException ex) {
+            if (format == null) {
+                throw new BadRequestException("Unable to read uploaded file");
             }
-            if (row.signedAmount() == null) {
-                issues.add(StatementIssue.error(row.rowNumber(), "Row is missing an amount"));
-                continue;
+            return StatementImportResponseDto.completed(abortOrRethrow(
+                    session,
+                    new BadRequestException("Unable to read uploaded file")
+            ));
+        } catch (RuntimeException ex) {
+            if (format == null) {
+                throw ex;
             }
+            return StatementImportResponseDto.completed(abortOrRethrow(
+                    session,
+                    new BadRequestException("Unable to parse statement: " + ex.getMessage())
+            ));
+        }
 
-            BigDecimal signedAmount = row.signedAmount().setScale(2, RoundingMode.HALF_UP);
-            if (signedAmount.compareTo(ZERO) == 0) {
-                issues.add(StatementIssue.warning(row.rowNumber(), "Skipped zero-amount transaction"));
-                continue;
-            }
+        if (session.fileType == StatementFileType.CSV && requestedCsvMapping != null && saveHeaderMapping) {
+            upsertSavedCsvMapping(session.account, requestedCsvMapping);
+        }
+
+        try {
+            return StatementImportResponseDto.completed(session.finish());
+        } catch (RuntimeException ex) {
+            return StatementImportResponseDto.completed(abortOrRethrow(session, ex));
+        }
+    }
 
-            TransactionType type = signedAmount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
-            BigDecimal amount = signedAmount.abs();
+    private ArchiveImportResultDto importArchiveEntries(
+            Account account,
+            StatementArchiveExtractor.ExtractedArchive archive,
+            CsvColumnMapping csvMapping
+    ) {
+        List<ArchiveEntryImportDto> results = new ArrayList<>(archive.entries().size());
+        for (StatementArchiveExtractor.ArchiveEntryFile entry : archive.entries()) {
+            ImportSession session = new ImportSession(account, entry.fileName(), entry.format().fileType(), null);
+            try {
+                ImportSummaryDto summary = inArchiveEntrySavepoint(() -> importArchiveEntry(session, entry, csvMapping));
+                results.add(new ArchiveEntryImportDto(entry.fileName(), session.batch.getStatus(), summary));
+            } catch (RuntimeException ex) {
+                ImportSession failed = new ImportSession(account, entry.fileName(), entry.format().fileType(), null);
+                results.add(new ArchiveEntryImportDto(entry.fileName(), ImportBatchStatus.FAILED, failed.fail(ex)));
+            } finally {
+                session.releaseProgress();
+            }
+        }
+        return ArchiveImportResultDto.from(results, archive.skippedEntries());
+    }
 
-            String description = normalizeDescription(row.description());
-            String externalId = truncate(normalizeOptional(row.externalId()), 200);
-            String sourceCategory = truncate(normalizeOptional(row.sourceCategory()), 120);
-            String fingerprint = buildFingerprint(row.date(), type, amount, description);
+    private <T> T inArchiveEntrySavepoint(Supplier<T> work) {
+        if (commitMode == ImportCommitMode.CHUNKED) {
+            return work.get();
+        }
+        // Earlier entries are flushed first so rolling back to the savepoint only discards this entry.
+        entityManager.flush();
+        Session hibernateSession = entityManager.unwrap(Session.class);
+        Savepoint savepoint = hibernateSession.doReturningWork(Connection::setSavepoint);
+        try {
+            T result = work.get();
+            hibernateSession.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return result;
+        } catch (RuntimeException ex) {
+            entityManager.clear();
+            hibernateSession.doWork(connection -> connection.rollback(savepoint));
+            throw ex;
+        }
+    }
 
-            candidates.add(new CandidateTransaction(
-                    row.rowNumber(),
-                    row.date(),
-                    type,
-                    amount,
-                    description,
-                    externalId,
-                    sourceCategory,
-                    fingerprint
+    private ImportSummaryDto importArchiveEntry(
+            ImportSession session,
+            StatementArchiveExtractor.ArchiveEntryFile entry,
+            CsvColumnMapping csvMapping
+    ) {
+        try (BufferedInputStream inputStream = new BufferedInputStream(Files.newInputStream(entry.path()))) {
+            StatementFormat format = fileTypeDetector.detect(entry.fileName(), inputStream);
+            parseInto(session, format, csvMapping, inputStream);
+        } catch (CsvHeaderMappingRequiredException ex) {
+            session.issue(StatementIssue.error(null, "CSV header mapping is required. Import this file on its own or pass column indexes"));
+        } catch (ChunkWriteException ex) {
+            return abortOrRethrow(session, ex.getCause());
+        } catch (IOException ex) {
+            return abortOrRethrow(session, new BadRequestException("Unable to read archive entry " + entry.fileName()));
+        } catch (RuntimeException ex) {
+            return abortOrRethrow(session, new BadRequestException(
+                    "Unable to parse statement " + entry.fileName() + ": " + ex.getMessage()
             ));
         }
-        return candidates;
+
+        try {
+            return session.finish();
+        } catch (RuntimeException ex) {
+            return abortOrRethrow(session, ex);
+        }
+    }
+
+    private UploadedStatement resolveUpload(Long accountId, MultipartFile file, String uploadToken) {
+        if (file != null && !file.isEmpty()) {
+            return new UploadedStatement(normalizeFileName(file.getOriginalFilename()), file, () -> { });
+        }
+        if (uploadToken == null || uploadToken.isBlank()) {
+            throw new BadRequestException("File is required");
+        }
+        StatementUploadCache.CachedUpload cached = statementUploadCache.require(accountId, uploadToken.trim());
+        return new UploadedStatement(cached.fileName(), cached, () -> statementUploadCache.release(cached));
     }
 
-    private Set<String> loadExistingExternalIds(Long accountId, List<CandidateTransaction> candidates) {
-        Set<String> candidateExternalIds = candidates.stream()
-                .map(CandidateTransaction::externalId)
-                .filter(Objects::nonNull)
-                .collect(HashSet::new, HashSet::add, HashSet::addAll);
-        if (candidateExternalIds.isEmpty()) {
-            return Set.of();
+    private StatementImportResponseDto headerMappingRequired(
+            Long accountId,
+            String fileName,
+            InputStreamSource source,
+            CsvHeaderMappingPromptDto prompt
+    ) {
+        if (prompt == null) {
+            return StatementImportResponseDto.headerMappingRequired(null);
         }
-        return budgetTransactionRepository.findByAccountIdAndSourceExternalIdIn(accountId, candidateExternalIds).stream()
-                .map(BudgetTransaction::getSourceExternalId)
-                .filter(Objects::nonNull)
-                .collect(HashSet::new, HashSet::add, HashSet::addAll);
+        String token = statementUploadCache.store(accountId, fileName, source);
+        return StatementImportResponseDto.headerMappingRequired(prompt.withUploadToken(token));
     }
 
-    private Set<String> loadExistingFingerprints(Long accountId, List<CandidateTransaction> candidates) {
-        Set<String> candidateFingerprints = candidates.stream()
-                .map(CandidateTransaction::fingerprint)
-                .filter(Objects::nonNull)
-                .collect(HashSet::new, HashSet::add, HashSet::addAll);
-        if (candidateFingerprints.isEmpty()) {
-            return Set.of();
+    private void parseInto(
+            ImportSession session,
+            StatementFormat format,
+            CsvColumnMapping requestedCsvMapping,
+            InputStream inputStream
+    ) throws IOException {
+        long parseStarted = System.nanoTime();
+        long chunkNanosBefore = session.chunkNanos;
+        try {
+            parseStatement(format, session.account.getId(), requestedCsvMapping, inputStream, session);
+        } finally {
+            long chunkNanos = session.chunkNanos - chunkNanosBefore;
+            metrics.record(ImportStage.PARSE, session.fileType, System.nanoTime() - parseStarted - chunkNanos);
+        }
+    }
+
+    private void parseStatement(
+            StatementFormat format,
+            Long accountId,
+            CsvColumnMapping requestedCsvMapping,
+            InputStream inputStream,
+            StatementRowSink sink
+    ) throws IOException {
+        if (format.fileType() == StatementFileType.CSV) {
+            CsvColumnMapping effectiveMapping = requestedCsvMapping != null
+                    ? requestedCsvMapping
+                    : loadSavedCsvMapping(accountId);
+            csvStatementParser.parse(inputStream, format, effectiveMapping, sink);
+        } else {
+            statementParserRegistry.parse(format, inputStream, sink);
         }
-        return budgetTransactionRepository.findByAccountIdAndDedupeFingerprintIn(accountId, candidateFingerprints).stream()
-                .map(BudgetTransaction::getDedupeFingerprint)
-                .filter(Objects::nonNull)
-                .collect(HashSet::new, HashSet::add, HashSet::addAll);
+    }
+
+    private ImportSummaryDto abortOrRethrow(ImportSession session, RuntimeException failure) {
+        if (commitMode != ImportCommitMode.CHUNKED || !session.batchCommitted) {
+            throw failure;
+        }
+        return abortTransaction.execute(status -> session.abort(failure));
+    }
+
+    private <T> T inImportTransaction(Supplier<T> work) {
+        if (commitMode == ImportCommitMode.CHUNKED) {
+            return work.get();
+        }
+        return importTransaction.execute(status -> work.get());
+    }
+
+    private List<CandidateTransaction> normalizeRows(List<NormalizedStatementRow> rows, Consumer<StatementIssue> issues) {
+        List<CandidateTransaction> candidates = new ArrayList<>(rows.size());
+        for (NormalizedRowOutcome outcome : parallelRowProcessor.mapInOrder(rows, this::normalizeRow)) {
+            if (outcome.issue() != null) {
+                issues.accept(outcome.issue());
+            } else {
+                candidates.add(outcome.candidate());
+            }
+        }
+        return candidates;
+    }
+
+    private NormalizedRowOutcome normalizeRow(NormalizedStatementRow row) {
+        if (row.date() == null) {
+            return NormalizedRowOutcome.rejected(StatementIssue.error(row.rowNumber(), "Row is missing a transaction date"));
+        }
+        if (row.signedAmount() == null) {
+            return NormalizedRowOutcome.rejected(StatementIssue.error(row.rowNumber(), "Row is missing an amount"));
+        }
+
+        BigDecimal signedAmount = row.signedAmount().setScale(2, RoundingMode.HALF_UP);
+        if (signedAmount.compareTo(ZERO) == 0) {
+            return NormalizedRowOutcome.rejected(StatementIssue.warning(row.rowNumber(), "Skipped zero-amount transaction"));
+        }
+
+        TransactionType type = signedAmount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        BigDecimal amount = signedAmount.abs();
+
+        String description = normalizeDescription(row.description());
+        String externalId = truncate(normalizeOptional(row.externalId()), 200);
+        String sourceCategory = truncate(normalizeOptional(row.sourceCategory()), 120);
+        String fingerprint = TransactionFingerprinter.fingerprint(row.date(), type, amount, description);
+
+        return NormalizedRowOutcome.accepted(new CandidateTransaction(
+                row.rowNumber(),
+                row.date(),
+                type,
+                amount,
+                description,
+                externalId,
+                sourceCategory,
+                fingerprint
+        ));
     }
 
     private Category resolveCategoryForCandidate(
@@ -322,17 +703,51 @@ public class StatementImportService {
         if (normalized == null) {
             return fallbackCategory;
         }
+        return categoryByTypeAndName.get(categoryKey(categoryType(transactionType), normalized));
+    }
 
-        CategoryType categoryType = transactionType == TransactionType.EXPENSE ? CategoryType.EXPENSE : CategoryType.INCOME;
-        String cacheKey = categoryType + "|" + normalized.toLowerCase(Locale.ROOT);
-        return categoryByTypeAndName.computeIfAbsent(cacheKey, key ->
-                categoryRepository.findByTypeAndNameIgnoreCase(categoryType, normalized)
-                        .orElseGet(() -> {
-                            Integer maxSort = categoryRepository.findMaxSortOrderByType(categoryType);
-                            int nextSort = (maxSort == null ? 0 : maxSort) + 1;
-                            return categoryRepository.save(new Category(normalized, categoryType, nextSort, true));
-                        })
-        );
+    private void resolveCategories(
+            Map<CategoryType, Map<String, String>> namesByType,
+            Map<String, Category> categoryByTypeAndName
+    ) {
+        namesByType.forEach((type, names) -> {
+            names.keySet().removeIf(lowerName -> categoryByTypeAndName.containsKey(categoryKey(type, lowerName)));
+            if (names.isEmpty()) {
+                return;
+            }
+
+            for (Category category : categoryRepository.findByTypeAndLowerNameIn(type, names.keySet())) {
+                categoryByTypeAndName.putIfAbsent(categoryKey(type, category.getName()), category);
+            }
+
+            List<Category> missing = new ArrayList<>();
+            int nextSort = 0;
+            for (String name : names.values()) {
+                if (categoryByTypeAndName.containsKey(categoryKey(type, name))) {
+                    continue;
+                }
+                if (missing.isEmpty()) {
+                    Integer maxSort = categoryRepository.findMaxSortOrderByType(type);
+                    nextSort = (maxSort == null ? 0 : maxSort) + 1;
+                }
+                missing.add(new Category(name, type, nextSort++, true));
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            for (Category category : categoryRepository.saveAll(missing)) {
+                categoryByTypeAndName.put(categoryKey(type, category.getName()), category);
+            }
+            monthSummaryCache.invalidateAll();
+        });
+    }
+
+    private CategoryType categoryType(TransactionType transactionType) {
+        return transactionType == TransactionType.EXPENSE ? CategoryType.EXPENSE : CategoryType.INCOME;
+    }
+
+    private String categoryKey(CategoryType type, String name) {
+        return type + "|" + name.toLowerCase(Locale.ROOT);
     }
 
     private CsvColumnMapping loadSavedCsvMapping(Long accountId) {
@@ -356,55 +771,6 @@ public class StatementImportService {
                 )));
     }
 
-    private CsvColumnMapping parseCsvColumnMappingRequest(
-            Integer dateColumnIndex,
-            Integer amountColumnIndex,
-            Integer descriptionColumnIndex,
-            Integer categoryColumnIndex,
-            Integer externalIdColumnIndex
-    ) {
-        boolean anyProvided = dateColumnIndex != null
-                || amountColumnIndex != null
-                || descriptionColumnIndex != null
-                || categoryColumnIndex != null
-                || externalIdColumnIndex != null;
-        if (!anyProvided) {
-            return null;
-        }
-
-        if (dateColumnIndex == null || amountColumnIndex == null || descriptionColumnIndex == null) {
-            throw new BadRequestException(
-                    "dateColumnIndex, amountColumnIndex, and descriptionColumnIndex are required when providing CSV mapping"
-            );
-        }
-
-        validateNonNegative("dateColumnIndex", dateColumnIndex);
-        validateNonNegative("amountColumnIndex", amountColumnIndex);
-        validateNonNegative("descriptionColumnIndex", descriptionColumnIndex);
-        validateNonNegativeIfPresent("categoryColumnIndex", categoryColumnIndex);
-        validateNonNegativeIfPresent("externalIdColumnIndex", externalIdColumnIndex);
-
-        return new CsvColumnMapping(
-                dateColumnIndex,
-                amountColumnIndex,
-                descriptionColumnIndex,
-                categoryColumnIndex,
-                externalIdColumnIndex
-        );
-    }
-
-    private void validateNonNegativeIfPresent(String field, Integer value) {
-        if (value != null) {
-            validateNonNegative(field, value);
-        }
-    }
-
-    private void validateNonNegative(String field, int value) {
-        if (value < 0) {
-            throw new BadRequestException(field + " must be >= 0");
-        }
-    }
-
     private ImportBatchStatus resolveFinalStatus(int parseErrorCount, int warningCount) {
         if (parseErrorCount > 0 || warningCount > 0) {
             return ImportBatchStatus.COMPLETED_WITH_WARNINGS;
@@ -412,16 +778,6 @@ public class StatementImportService {
         return ImportBatchStatus.COMPLETED;
     }
 
-    private Category getOrCreateImportCategory(CategoryType type, String categoryName) {
-        return categoryRepository.findByTypeAndNameIgnoreCase(type, categoryName)
-                .orElseGet(() -> {
-                    Integer maxSort = categoryRepository.findMaxSortOrderByType(type);
-                    int nextSort = (maxSort == null ? 0 : maxSort) + 1;
-                    Category category = new Category(categoryName, type, nextSort, true);
-                    return categoryRepository.save(category);
-                });
-    }
-
     private String normalizeFileName(String fileName) {
         if (fileName == null || fileName.isBlank()) {
             throw new BadRequestException("File name is required");
@@ -452,23 +808,515 @@ public class StatementImportService {
         return value.length() <= maxLength ? value : value.substring(0, maxLength);
     }
 
-    private String buildFingerprint(LocalDate date, TransactionType type, BigDecimal amount, String description) {
-        String source = date + "|" + type + "|" + amount.setScale(2, RoundingMode.HALF_UP) + "|" + normalizeForFingerprint(description);
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] bytes = digest.digest(source.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hex = new StringBuilder();
-            for (byte item : bytes) {
-                hex.append(String.format("%02x", item));
+    private final class ImportSession implements StatementRowSink {
+
+        private final Account account;
+        private final String fileName;
+        private StatementFileType fileType;
+        private final List<NormalizedStatementRow> pendingRows = new ArrayList<>();
+        private final List<StatementIssue> pendingIssues = new ArrayList<>();
+        private final List<ImportIssueDto> sampleParseErrors = new ArrayList<>();
+        private final List<ImportIssueDto> sampleWarnings = new ArrayList<>();
+        private final Map<String, Category> categoryByTypeAndName = new HashMap<>();
+        private final Map<LocalDate, BudgetMonth> monthCache = new HashMap<>();
+        private final long startedNanos = System.nanoTime();
+        private ImportBatch batch;
+        private boolean started;
+        private long chunkNanos;
+        private boolean batchCommitted;
+        private Category fallbackExpenseCategory;
+        private Category fallbackIncomeCategory;
+        private int parsedRowCount;
+        private int insertedCount;
+        private int skippedDuplicates;
+        private int parseErrorCount;
+        private int warningCount;
+        private long rollupWatermark;
+
+        private ImportSession(Account account, String fileName, StatementFileType fileType, ImportBatch batch) {
+            this.account = account;
+            this.fileName = fileName;
+            this.fileType = fileType;
+            this.batch = batch;
+            this.batchCommitted = batch != null;
+        }
+
+        @Override
+        public void row(NormalizedStatementRow row) {
+            parsedRowCount++;
+            pendingRows.add(row);
+            if (pendingRows.size() >= chunkSize) {
+                try {
+                    commitChunk();
+                } catch (RuntimeException ex) {
+                    throw new ChunkWriteException(ex);
+                }
+            }
+        }
+
+        @Override
+        public void issue(StatementIssue issue) {
+            recordIssue(issue);
+            if (pendingIssues.size() >= chunkSize) {
+                try {
+                    commitChunk();
+                } catch (RuntimeException ex) {
+                    throw new ChunkWriteException(ex);
+                }
+            }
+        }
+
+        private void recordIssue(StatementIssue issue) {
+            pendingIssues.add(issue);
+            if (issue.severity() == ImportIssueSeverity.ERROR) {
+                parseErrorCount++;
+                addInlineIssue(sampleParseErrors, issue);
+            } else if (issue.severity() == ImportIssueSeverity.WARNING) {
+                warningCount++;
+                addInlineIssue(sampleWarnings, issue);
+            }
+        }
+
+        private void addInlineIssue(List<ImportIssueDto> samples, StatementIssue issue) {
+            if (samples.size() < inlineIssueLimit) {
+                samples.add(ImportIssueDto.from(issue));
+            }
+        }
+
+        private void commitChunk() {
+            long chunkStarted = System.nanoTime();
+            try {
+                ChunkResult result = inChunkTransaction(this::flushChunk);
+                insertedCount += result.inserted();
+                skippedDuplicates += result.skippedDuplicates();
+                pendingIssues.subList(0, result.persistedIssueCount()).clear();
+                rollupWatermark = result.rollupWatermark();
+                importProgressRegistry.update(batch.getId(), new ImportProgress(parsedRowCount, insertedCount, skippedDuplicates));
+            } finally {
+                chunkNanos += System.nanoTime() - chunkStarted;
+            }
+        }
+
+        private ChunkResult flushChunk() {
+            ensureStarted();
+            List<CandidateTransaction> candidates = metrics.time(
+                    ImportStage.NORMALIZE,
+                    fileType,
+                    () -> normalizeRows(pendingRows, this::recordIssue)
+            );
+            pendingRows.clear();
+
+            int skipped = 0;
+            int inserted = 0;
+            long watermark = rollupWatermark;
+            if (!candidates.isEmpty()) {
+                Set<String> seenExternalIds = new HashSet<>();
+                Set<String> seenFingerprints = new HashSet<>();
+                List<BudgetTransaction> toInsert = new ArrayList<>();
+                metrics.time(ImportStage.CATEGORY_RESOLUTION, fileType, () -> resolveChunkCategories(candidates));
+
+                long assemblyStarted = System.nanoTime();
+                for (CandidateTransaction candidate : candidates) {
+                    boolean duplicateByExternalId = candidate.externalId() != null && seenExternalIds.contains(candidate.externalId());
+                    boolean duplicateByFingerprint = seenFingerprints.contains(candidate.fingerprint());
+                    if (duplicateByExternalId || duplicateByFingerprint) {
+                        skipped++;
+                        continue;
+                    }
+
+                    if (candidate.externalId() != null) {
+                        seenExternalIds.add(candidate.externalId());
+                    }
+                    seenFingerprints.add(candidate.fingerprint());
+
+                    BudgetMonth budgetMonth = monthCache.computeIfAbsent(
+                            candidate.date().withDayOfMonth(1),
+                            budgetMonthService::getOrCreate
+                    );
+
+                    Category fallbackCategory = candidate.type() == TransactionType.EXPENSE ? fallbackExpenseCategory : fallbackIncomeCategory;
+                    Category category = resolveCategoryForCandidate(
+                            candidate.type(),
+                            candidate.sourceCategory(),
+                            fallbackCategory,
+                            categoryByTypeAndName
+                    );
+
+                    BudgetTransaction transaction = new BudgetTransaction(
+                            budgetMonth,
+                            account,
+                            candidate.type(),
+                            candidate.date(),
+                            candidate.amount(),
+                            candidate.description(),
+                            category
+                    );
+                    transaction.setSourceExternalId(candidate.externalId());
+                    transaction.setDedupeFingerprint(candidate.fingerprint());
+                    transaction.setImportBatch(batch);
+                    toInsert.add(transaction);
+                }
+
+                metrics.record(ImportStage.TRANSACTION_ASSEMBLY, fileType, System.nanoTime() - assemblyStarted);
+
+                inserted = metrics.time(
+                        ImportStage.INSERT,
+                        fileType,
+                        () -> statementImportWriter.insertTransactionsSkippingDuplicates(toInsert)
+                );
+                skipped += toInsert.size() - inserted;
+                if (inserted > 0) {
+                    watermark = monthCategoryTotalsService.addImportedSince(batch.getId(), rollupWatermark);
+                    toInsert.stream()
+                            .map(transaction -> transaction.getBudgetMonth().getMonthStart())
+                            .distinct()
+                            .forEach(monthSummaryCache::invalidate);
+                }
+            }
+
+            int persistedIssues = persistIssues();
+            if (commitMode == ImportCommitMode.CHUNKED) {
+                batch.recordProgress(
+                        parsedRowCount,
+                        insertedCount + inserted,
+                        skippedDuplicates + skipped,
+                        parseErrorCount,
+                        warningCount
+                );
+                batch = importBatchRepository.save(batch);
+            }
+            return new ChunkResult(inserted, skipped, persistedIssues, watermark);
+        }
+
+        private ImportSummaryDto finish() {
+            commitChunk();
+            return inChunkTransaction(() -> complete(resolveFinalStatus(parseErrorCount, warningCount)));
+        }
+
+        private ImportSummaryDto abort(RuntimeException failure) {
+            recordIssue(StatementIssue.error(null, truncate(
+                    "Import stopped after " + insertedCount + " inserted rows: " + failure.getMessage(),
+                    500
+            )));
+            return complete(ImportBatchStatus.PARTIALLY_COMPLETED);
+        }
+
+        private ImportSummaryDto fail(RuntimeException failure) {
+            return inChunkTransaction(() -> {
+                ensureStarted();
+                recordIssue(StatementIssue.error(null, truncate(String.valueOf(failure.getMessage()), 500)));
+                return complete(ImportBatchStatus.FAILED);
+            });
+        }
+
+        private void releaseProgress() {
+            if (batch != null) {
+                importProgressRegistry.finish(batch.getId());
+            }
+        }
+
+        private ImportSummaryDto complete(ImportBatchStatus status) {
+            persistIssues();
+            pendingIssues.clear();
+            batch.complete(
+                    status,
+                    parsedRowCount,
+                    insertedCount,
+                    skippedDuplicates,
+                    parseErrorCount,
+                    warningCount,
+                    Instant.now()
+            );
+            batch = importBatchRepository.save(batch);
+            importProgressRegistry.finish(batch.getId());
+            metrics.recordImport(
+                    fileType,
+                    status,
+                    System.nanoTime() - startedNanos,
+                    parsedRowCount,
+                    insertedCount,
+                    skippedDuplicates,
+                    parseErrorCount,
+                    warningCount
+            );
+
+            return new ImportSummaryDto(
+                    batch.getId(),
+                    insertedCount,
+                    skippedDuplicates,
+                    List.copyOf(sampleParseErrors),
+                    List.copyOf(sampleWarnings),
+                    parseErrorCount,
+                    warningCount,
+                    parseErrorCount > inlineIssueLimit || warningCount > inlineIssueLimit,
+                    issuesUrl(account.getId(), batch.getId())
+            );
+        }
+
+        private int persistIssues() {
+            List<ImportIssue> pending = pendingIssues.stream()
+                    .map(issue -> new ImportIssue(batch, issue.severity(), issue.rowNumber(), truncate(issue.message(), 500)))
+                    .toList();
+            if (!pending.isEmpty()) {
+                metrics.time(ImportStage.ISSUE_PERSISTENCE, fileType, () -> statementImportWriter.insertIssues(pending));
+            }
+            return pending.size();
+        }
+
+        private <T> T inChunkTransaction(Supplier<T> work) {
+            if (commitMode != ImportCommitMode.CHUNKED) {
+                return work.get();
+            }
+            return importTransaction.execute(status -> {
+                T result = work.get();
+                entityManager.flush();
+                entityManager.clear();
+                if (status.isNewTransaction()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            batchCommitted = true;
+                        }
+                    });
+                }
+                return result;
+            });
+        }
+
+        private void ensureStarted() {
+            if (started) {
+                return;
+            }
+            started = true;
+            if (batch == null) {
+                batch = importBatchRepository.save(new ImportBatch(
+                        account,
+                        fileName,
+                        fileType,
+                        ImportBatchStatus.PROCESSING,
+                        Instant.now()
+                ));
+            }
+        }
+
+        private void resolveChunkCategories(List<CandidateTransaction> candidates) {
+            Map<CategoryType, Map<String, String>> namesByType = new EnumMap<>(CategoryType.class);
+            if (fallbackExpenseCategory == null) {
+                addCategoryName(namesByType, CategoryType.EXPENSE, IMPORTED_EXPENSE_CATEGORY);
+                addCategoryName(namesByType, CategoryType.INCOME, IMPORTED_INCOME_CATEGORY);
+            }
+            for (CandidateTransaction candidate : candidates) {
+                if (candidate.sourceCategory() != null) {
+                    addCategoryName(namesByType, categoryType(candidate.type()), candidate.sourceCategory());
+                }
+            }
+
+            resolveCategories(namesByType, categoryByTypeAndName);
+            if (fallbackExpenseCategory == null) {
+                fallbackExpenseCategory = categoryByTypeAndName.get(categoryKey(CategoryType.EXPENSE, IMPORTED_EXPENSE_CATEGORY));
+                fallbackIncomeCategory = categoryByTypeAndName.get(categoryKey(CategoryType.INCOME, IMPORTED_INCOME_CATEGORY));
             }
-            return hex.toString();
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+
+        private void addCategoryName(Map<CategoryType, Map<String, String>> namesByType, CategoryType type, String name) {
+            namesByType.computeIfAbsent(type, key -> new LinkedHashMap<>())
+                    .putIfAbsent(name.toLowerCase(Locale.ROOT), name);
         }
     }
 
-    private String normalizeForFingerprint(String value) {
-        return value == null ? "" : value.toLowerCase().replaceAll("\\s+", " ").trim();
+    private final class PreviewSession implements StatementRowSink {
+
+        private final Long accountId;
+        private final List<NormalizedStatementRow> pendingRows = new ArrayList<>();
+        private final Set<String> seenExternalIds = new HashSet<>();
+        private final Set<String> seenFingerprints = new HashSet<>();
+        private final Map<String, String> categoryNameByKey = new HashMap<>();
+        private final Map<String, String> newCategories = new LinkedHashMap<>();
+        private final List<ImportPreviewRowDto> sampleRows = new ArrayList<>();
+        private final List<ImportIssueDto> sampleParseErrors = new ArrayList<>();
+        private final List<ImportIssueDto> sampleWarnings = new ArrayList<>();
+        private int parsedRowCount;
+        private int toInsert;
+        private int skippedDuplicates;
+        private int parseErrorCount;
+        private int warningCount;
+
+        private PreviewSession(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        @Override
+        public void row(NormalizedStatementRow row) {
+            parsedRowCount++;
+            pendingRows.add(row);
+            if (pendingRows.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        @Override
+        public void issue(StatementIssue issue) {
+            if (issue.severity() == ImportIssueSeverity.ERROR) {
+                parseErrorCount++;
+                addSample(sampleParseErrors, ImportIssueDto.from(issue));
+            } else if (issue.severity() == ImportIssueSeverity.WARNING) {
+                warningCount++;
+                addSample(sampleWarnings, ImportIssueDto.from(issue));
+            }
+        }
+
+        private void flushChunk() {
+            List<CandidateTransaction> candidates = normalizeRows(pendingRows, this::issue);
+            pendingRows.clear();
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            Set<String> existingExternalIds = findExisting(
+                    candidates.stream().map(CandidateTransaction::externalId).filter(Objects::nonNull).toList(),
+                    values -> budgetTransactionRepository.findExistingExternalIds(accountId, values)
+            );
+            Set<String> existingFingerprints = findExisting(
+                    candidates.stream().map(CandidateTransaction::fingerprint).toList(),
+                    values -> budgetTransactionRepository.findExistingFingerprints(accountId, values)
+            );
+            resolveCategoryNames(candidates);
+
+            for (CandidateTransaction candidate : candidates) {
+                String externalId = candidate.externalId();
+                boolean duplicateByExternalId = externalId != null
+                        && (seenExternalIds.contains(externalId) || existingExternalIds.contains(externalId));
+                boolean duplicateByFingerprint = seenFingerprints.contains(candidate.fingerprint())
+                        || existingFingerprints.contains(candidate.fingerprint());
+                boolean duplicate = duplicateByExternalId || duplicateByFingerprint;
+                if (duplicate) {
+                    skippedDuplicates++;
+                } else {
+                    toInsert++;
+                    if (externalId != null) {
+                        seenExternalIds.add(externalId);
+                    }
+                    seenFingerprints.add(candidate.fingerprint());
+                }
+
+                addSample(sampleRows, new ImportPreviewRowDto(
+                        candidate.rowNumber(),
+                        candidate.date(),
+                        candidate.type(),
+                        candidate.amount(),
+                        candidate.description(),
+                        categoryNameByKey.get(categoryKey(categoryType(candidate.type()), effectiveCategoryName(candidate))),
+                        externalId,
+                        duplicate
+                ));
+            }
+        }
+
+        private Set<String> findExisting(List<String> values, Function<List<String>, List<String>> lookup) {
+            Set<String> existing = new HashSet<>();
+            List<String> distinct = values.stream().distinct().toList();
+            for (int from = 0; from < distinct.size(); from += IN_LIST_LIMIT) {
+                existing.addAll(lookup.apply(distinct.subList(from, Math.min(from + IN_LIST_LIMIT, distinct.size()))));
+            }
+            return existing;
+        }
+
+        private void resolveCategoryNames(List<CandidateTransaction> candidates) {
+            Map<CategoryType, Map<String, String>> unresolved = new EnumMap<>(CategoryType.class);
+            for (CandidateTransaction candidate : candidates) {
+                CategoryType type = categoryType(candidate.type());
+                String name = effectiveCategoryName(candidate);
+                if (!categoryNameByKey.containsKey(categoryKey(type, name))) {
+                    unresolved.computeIfAbsent(type, key -> new LinkedHashMap<>())
+                            .putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+                }
+            }
+
+            unresolved.forEach((type, names) -> {
+                for (Category category : categoryRepository.findByTypeAndLowerNameIn(type, names.keySet())) {
+                    categoryNameByKey.putIfAbsent(categoryKey(type, category.getName()), category.getName());
+                }
+                for (String name : names.values()) {
+                    String key = categoryKey(type, name);
+                    if (categoryNameByKey.putIfAbsent(key, name) == null) {
+                        newCategories.put(key, name);
+                    }
+                }
+            });
+        }
+
+        private String effectiveCategoryName(CandidateTransaction candidate) {
+            if (candidate.sourceCategory() != null) {
+                return candidate.sourceCategory();
+            }
+            return candidate.type() == TransactionType.EXPENSE ? IMPORTED_EXPENSE_CATEGORY : IMPORTED_INCOME_CATEGORY;
+        }
+
+        private <T> void addSample(List<T> samples, T sample) {
+            if (samples.size() < previewSampleSize) {
+                samples.add(sample);
+            }
+        }
+
+        private ImportPreviewDto finish() {
+            flushChunk();
+            return new ImportPreviewDto(
+                    parsedRowCount,
+                    toInsert,
+                    skippedDuplicates,
+                    parseErrorCount,
+                    warningCount,
+                    List.copyOf(newCategories.values()),
+                    sampleRows,
+                    sampleParseErrors,
+                    sampleWarnings
+            );
+        }
+    }
+
+    private record UploadedStatement(String fileName, InputStreamSource source, Runnable release) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            release.run();
+        }
+    }
+
+    private record ChunkResult(int inserted, int skippedDuplicates, int persistedIssueCount, long rollupWatermark) {
+    }
+
+    private record HistoryCursor(Instant createdAt, Long id) {
+
+        private String encode() {
+            String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + "." + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+                String[] parts = raw.split("\\.");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException(raw);
+                }
+                Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                return new HistoryCursor(createdAt, Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeException ex) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    private static final class ChunkWriteException extends RuntimeException {
+
+        private ChunkWriteException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
     }
 
     private record CandidateTransaction(
@@ -482,4 +1330,15 @@ public class StatementImportService {
             String fingerprint
     ) {
     }
+
+    private record NormalizedRowOutcome(CandidateTransaction candidate, StatementIssue issue) {
+
+        private static NormalizedRowOutcome accepted(CandidateTransaction candidate) {
+            return new NormalizedRowOutcome(candidate, null);
+        }
+
+        private static NormalizedRowOutcome rejected(StatementIssue issue) {
+            return new NormalizedRowOutcome(null, issue);
+        }
+    }
 }
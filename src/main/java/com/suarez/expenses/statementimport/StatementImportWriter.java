@@ -0,0 +1,85 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.transaction.BudgetTransaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+import java.util.StringJoiner;
+
+@Component
+public class StatementImportWriter {
+
+    private static final String INSERT_TRANSACTION_PREFIX = """
+            insert into budget_transactions (
+                budget_month_id, account_id, transaction_type, txn_date, amount,
+                description, category_id, source_external_id, dedupe_fingerprint, import_batch_id
+            ) values\s""";
+    private static final String TRANSACTION_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int TRANSACTION_COLUMNS = 10;
+    private static final int MAX_BIND_PARAMETERS = 65535;
+
+    private static final String INSERT_ISSUE_SQL = """
+            insert into import_issues (import_batch_id, severity, row_number, message)
+            values (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int transactionRowsPerStatement;
+
+    public StatementImportWriter(JdbcTemplate jdbcTemplate, StatementImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, properties.writeBatchSize());
+        this.transactionRowsPerStatement = Math.min(batchSize, MAX_BIND_PARAMETERS / TRANSACTION_COLUMNS);
+    }
+
+    public int insertTransactionsSkippingDuplicates(List<BudgetTransaction> transactions) {
+        int inserted = 0;
+        for (int from = 0; from < transactions.size(); from += transactionRowsPerStatement) {
+            List<BudgetTransaction> slice = transactions.subList(from, Math.min(from + transactionRowsPerStatement, transactions.size()));
+            inserted += jdbcTemplate.update(insertTransactionsSql(slice.size()), statement -> {
+                int index = 1;
+                for (BudgetTransaction transaction : slice) {
+                    statement.setLong(index++, transaction.getBudgetMonth().getId());
+                    statement.setLong(index++, transaction.getAccount().getId());
+                    statement.setString(index++, transaction.getTransactionType().name());
+                    statement.setDate(index++, Date.valueOf(transaction.getTxnDate()));
+                    statement.setBigDecimal(index++, transaction.getAmount());
+                    statement.setString(index++, transaction.getDescription());
+                    statement.setLong(index++, transaction.getCategory().getId());
+                    statement.setString(index++, transaction.getSourceExternalId());
+                    statement.setString(index++, transaction.getDedupeFingerprint());
+                    statement.setLong(index++, transaction.getImportBatch().getId());
+                }
+            });
+        }
+        return inserted;
+    }
+
+    public void insertIssues(List<ImportIssue> issues) {
+        if (issues.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, issues, batchSize, (statement, issue) -> {
+            statement.setLong(1, issue.getImportBatch().getId());
+            statement.setString(2, issue.getSeverity().name());
+            if (issue.getRowNumber() == null) {
+                statement.setNull(3, Types.INTEGER);
+            } else {
+                statement.setInt(3, issue.getRowNumber());
+            }
+            statement.setString(4, issue.getMessage());
+        });
+    }
+
+    private String insertTransactionsSql(int rows) {
+        StringJoiner values = new StringJoiner(", ", INSERT_TRANSACTION_PREFIX, " on conflict do nothing");
+        for (int i = 0; i < rows; i++) {
+            values.add(TRANSACTION_VALUES);
+        }
+        return values.toString();
+    }
+}
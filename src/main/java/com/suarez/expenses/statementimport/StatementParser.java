@@ -6,5 +6,9 @@ import java.io.InputStream;
 public interface StatementParser {
     boolean supports(StatementFileType fileType);
 
-    StatementParseResult parse(InputStream inputStream) throws IOException;
+    void parse(InputStream inputStream, StatementRowSink sink) throws IOException;
+
+    default void parse(InputStream inputStream, StatementFormat format, StatementRowSink sink) throws IOException {
+        parse(inputStream, sink);
+    }
 }
@@ -16,11 +16,18 @@ public class StatementParserRegistry {
         this.parsers = parsers;
     }
 
-    public StatementParseResult parse(StatementFileType fileType, InputStream inputStream) throws IOException {
-        StatementParser parser = parsers.stream()
+    public void parse(StatementFileType fileType, InputStream inputStream, StatementRowSink sink) throws IOException {
+        resolve(fileType).parse(inputStream, sink);
+    }
+
+    public void parse(StatementFormat format, InputStream inputStream, StatementRowSink sink) throws IOException {
+        resolve(format.fileType()).parse(inputStream, format, sink);
+    }
+
+    private StatementParser resolve(StatementFileType fileType) {
+        return parsers.stream()
                 .filter(candidate -> candidate.supports(fileType))
                 .findFirst()
                 .orElseThrow(() -> new BadRequestException("No parser available for file type: " + fileType));
-        return parser.parse(inputStream);
     }
 }
@@ -0,0 +1,7 @@
+package com.suarez.expenses.statementimport;
+
+public interface StatementRowSink {
+    void row(NormalizedStatementRow row);
+
+    void issue(StatementIssue issue);
+}
@@ -0,0 +1,179 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class StatementUploadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementUploadCache.class);
+
+    private final StatementImportProperties properties;
+    private final Duration ttl;
+    private final long maxBytes;
+    private final Map<String, CachedUpload> uploads = new LinkedHashMap<>(16, 0.75f, true);
+    // Spool files handed out by find stay on disk until every caller has released them
+    private final Map<Path, Integer> readers = new HashMap<>();
+    private final Set<Path> retired = new HashSet<>();
+    private long totalBytes;
+
+    public StatementUploadCache(StatementImportProperties properties) {
+        this.properties = properties;
+        this.ttl = properties.uploadCacheTtl() == null ? Duration.ofMinutes(15) : properties.uploadCacheTtl();
+        this.maxBytes = properties.uploadCacheMaxSize() == null ? 0 : properties.uploadCacheMaxSize().toBytes();
+    }
+
+    public String store(Long accountId, String fileName, InputStreamSource source) {
+        if (source instanceof CachedUpload cached) {
+            return cached.token();
+        }
+        if (maxBytes <= 0) {
+            return null;
+        }
+
+        Path file = null;
+        try {
+            file = properties.createSpoolFile();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(source.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(file)) {
+                size = in.transferTo(out);
+            }
+            if (size > maxBytes) {
+                deleteQuietly(file);
+                return null;
+            }
+            String token = accountId + "-" + HexFormat.of().formatHex(digest.digest());
+            put(new CachedUpload(token, accountId, fileName, file, size, Instant.now().plus(ttl)));
+            return token;
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            log.warn("Unable to cache statement upload {}", fileName, ex);
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            return null;
+        }
+    }
+
+    public CachedUpload require(Long accountId, String token) {
+        return find(accountId, token)
+                .orElseThrow(() -> new BadRequestException("Upload token is unknown or expired. Upload the file again"));
+    }
+
+    public synchronized Optional<CachedUpload> find(Long accountId, String token) {
+        evictExpired();
+        CachedUpload upload = uploads.get(token);
+        if (upload == null || !Objects.equals(upload.accountId(), accountId)) {
+            return Optional.empty();
+        }
+        readers.merge(upload.path(), 1, Integer::sum);
+        return Optional.of(upload);
+    }
+
+    public synchronized void release(CachedUpload upload) {
+        Integer remaining = readers.computeIfPresent(upload.path(), (path, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null && retired.remove(upload.path())) {
+            deleteQuietly(upload.path());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void clear() {
+        uploads.values().forEach(upload -> deleteQuietly(upload.path()));
+        retired.forEach(this::deleteQuietly);
+        uploads.clear();
+        readers.clear();
+        retired.clear();
+        totalBytes = 0;
+    }
+
+    private synchronized void put(CachedUpload upload) {
+        CachedUpload previous = uploads.put(upload.token(), upload);
+        if (previous != null) {
+            totalBytes -= previous.size();
+            retire(previous.path());
+        }
+        totalBytes += upload.size();
+
+        evictExpired();
+        Iterator<CachedUpload> eldest = uploads.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            CachedUpload evicted = eldest.next();
+            if (evicted == upload) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= evicted.size();
+            retire(evicted.path());
+        }
+    }
+
+    private void evictExpired() {
+        Instant now = Instant.now();
+        Iterator<CachedUpload> iterator = uploads.values().iterator();
+        while (iterator.hasNext()) {
+            CachedUpload upload = iterator.next();
+            if (upload.expiresAt().isBefore(now)) {
+                iterator.remove();
+                totalBytes -= upload.size();
+                retire(upload.path());
+            }
+        }
+    }
+
+    private void retire(Path path) {
+        if (readers.containsKey(path)) {
+            retired.add(path);
+        } else {
+            deleteQuietly(path);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Unable to delete cached statement upload {}", path, ex);
+        }
+    }
+
+    public record CachedUpload(
+            String token,
+            Long accountId,
+            String fileName,
+            Path path,
+            long size,
+            Instant expiresAt
+    ) implements InputStreamSource {
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+    }
+}
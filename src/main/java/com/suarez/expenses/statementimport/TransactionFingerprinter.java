@@ -0,0 +1,90 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+public final class TransactionFingerprinter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    });
+
+    private TransactionFingerprinter() {
+    }
+
+    public static String fingerprint(LocalDate date, TransactionType type, BigDecimal amount, String description) {
+        StringBuilder source = new StringBuilder(64)
+                .append(date)
+                .append('|')
+                .append(type)
+                .append('|')
+                .append(amount.setScale(2, RoundingMode.HALF_UP))
+                .append('|');
+        appendNormalized(source, description);
+
+        MessageDigest digest = SHA_256.get();
+        byte[] bytes = digest.digest(source.toString().getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    static void appendNormalized(StringBuilder target, String value) {
+        if (value == null) {
+            return;
+        }
+        String lower = value.toLowerCase();
+        int start = target.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (isRegexWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                target.append(' ');
+                pendingSpace = false;
+            }
+            target.append(c);
+        }
+        if (pendingSpace) {
+            target.append(' ');
+        }
+        trim(target, start);
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static void trim(StringBuilder target, int start) {
+        int end = target.length();
+        while (end > start && target.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        target.setLength(end);
+        int first = start;
+        while (first < end && target.charAt(first) <= ' ') {
+            first++;
+        }
+        if (first > start) {
+            target.delete(start, first);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.suarez.expenses.summary;
+
+import java.math.BigDecimal;
+
+public record AccountCategoryActualDto(
+        Long categoryId,
+        String categoryName,
+        BigDecimal actual
+) {
+}
@@ -0,0 +1,13 @@
+package com.suarez.expenses.summary;
+
+import com.suarez.expenses.transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public record AccountCategoryTotal(
+        Long accountId,
+        Long categoryId,
+        TransactionType transactionType,
+        BigDecimal total
+) {
+}
@@ -0,0 +1,15 @@
+package com.suarez.expenses.summary;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AccountSummaryDto(
+        Long accountId,
+        String accountName,
+        BigDecimal expenseActual,
+        BigDecimal incomeActual,
+        BigDecimal netChange,
+        List<AccountCategoryActualDto> expenseCategories,
+        List<AccountCategoryActualDto> incomeCategories
+) {
+}
@@ -0,0 +1,71 @@
+package com.suarez.expenses.summary;
+
+import com.suarez.expenses.transaction.TransactionType;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(
+        name = "month_category_totals",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_month_category_totals_key",
+                columnNames = {"budget_month_id", "account_id", "category_id", "transaction_type"}
+        )
+)
+public class MonthCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "budget_month_id", nullable = false)
+    private Long budgetMonthId;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    protected MonthCategoryTotal() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBudgetMonthId() {
+        return budgetMonthId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
@@ -0,0 +1,32 @@
+package com.suarez.expenses.summary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MonthCategoryTotalRepository extends JpaRepository<MonthCategoryTotal, Long> {
+
+    @Query("""
+            select new com.suarez.expenses.summary.AccountCategoryTotal(t.accountId, t.categoryId, t.transactionType, sum(t.totalAmount))
+            from MonthCategoryTotal t
+            where t.budgetMonthId = :budgetMonthId
+            group by t.accountId, t.categoryId, t.transactionType
+            having sum(t.transactionCount) > 0
+            """)
+    List<AccountCategoryTotal> sumByAccountCategoryAndType(@Param("budgetMonthId") Long budgetMonthId);
+
+    @Query("""
+            select new com.suarez.expenses.summary.AccountCategoryTotal(t.accountId, t.categoryId, t.transactionType, sum(t.totalAmount))
+            from MonthCategoryTotal t
+            where t.budgetMonthId = :budgetMonthId and t.accountId in :accountIds
+            group by t.accountId, t.categoryId, t.transactionType
+            having sum(t.transactionCount) > 0
+            """)
+    List<AccountCategoryTotal> sumByAccountCategoryAndType(
+            @Param("budgetMonthId") Long budgetMonthId,
+            @Param("accountIds") Collection<Long> accountIds
+    );
+}
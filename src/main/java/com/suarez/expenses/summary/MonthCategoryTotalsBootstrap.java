@@ -0,0 +1,26 @@
+package com.suarez.expenses.summary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MonthCategoryTotalsBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthCategoryTotalsBootstrap.class);
+
+    private final MonthCategoryTotalsService monthCategoryTotalsService;
+
+    public MonthCategoryTotalsBootstrap(MonthCategoryTotalsService monthCategoryTotalsService) {
+        this.monthCategoryTotalsService = monthCategoryTotalsService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (monthCategoryTotalsService.rebuildIfStale()) {
+            log.info("Rebuilt month_category_totals from budget_transactions");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.suarez.expenses.summary;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/month-category-totals")
+public class MonthCategoryTotalsController {
+
+    private final MonthCategoryTotalsService monthCategoryTotalsService;
+
+    public MonthCategoryTotalsController(MonthCategoryTotalsService monthCategoryTotalsService) {
+        this.monthCategoryTotalsService = monthCategoryTotalsService;
+    }
+
+    @PostMapping("/rebuild")
+    public MonthCategoryTotalsRebuildDto rebuild() {
+        return monthCategoryTotalsService.rebuild();
+    }
+}
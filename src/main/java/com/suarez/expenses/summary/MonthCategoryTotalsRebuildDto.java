@@ -0,0 +1,7 @@
+package com.suarez.expenses.summary;
+
+public record MonthCategoryTotalsRebuildDto(
+        int rows,
+        int mismatchedRows
+) {
+}
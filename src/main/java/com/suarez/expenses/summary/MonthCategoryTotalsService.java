@@ -0,0 +1,221 @@
+package com.suarez.expenses.summary;
+
+import com.suarez.expenses.transaction.BudgetTransaction;
+import com.suarez.expenses.transaction.TransactionType;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class MonthCategoryTotalsService {
+
+    private static final String UPDATE_SQL = """
+            update month_category_totals
+            set total_amount = total_amount + ?, transaction_count = transaction_count + ?
+            where budget_month_id = ? and account_id = ? and category_id = ? and transaction_type = ?
+            """;
+    private static final String INSERT_SQL = """
+            insert into month_category_totals (
+                budget_month_id, account_id, category_id, transaction_type, total_amount, transaction_count
+            ) values (?, ?, ?, ?, ?, ?) on conflict do nothing
+            """;
+    private static final String IMPORT_BATCH_TOTALS_SQL = """
+            select budget_month_id, account_id, category_id, transaction_type,
+                   sum(amount) as total_amount, count(*) as transaction_count, max(id) as max_id
+            from budget_transactions
+            where import_batch_id = ? and id > ?
+            group by budget_month_id, account_id, category_id, transaction_type
+            """;
+    private static final String ROLLUP_ROWS_SQL = """
+            select budget_month_id, account_id, category_id, transaction_type, total_amount, transaction_count
+            from month_category_totals
+            where transaction_count <> 0
+            """;
+    private static final String TRANSACTION_TOTALS_SQL = """
+            select budget_month_id, account_id, category_id, transaction_type,
+                   sum(amount) as total_amount, count(*) as transaction_count
+            from budget_transactions
+            group by budget_month_id, account_id, category_id, transaction_type
+            """;
+    private static final String REBUILD_SQL = """
+            insert into month_category_totals (
+                budget_month_id, account_id, category_id, transaction_type, total_amount, transaction_count
+            )
+            """ + TRANSACTION_TOTALS_SQL;
+    private static final String LOCK_SQL = "lock table month_category_totals in exclusive mode";
+    private static final String STALE_SQL = """
+            select case
+                when exists (select 1 from month_category_totals where account_id is null) then 1
+                when exists (select 1 from budget_transactions)
+                     and not exists (select 1 from month_category_totals) then 1
+                else 0
+            end
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final MonthSummaryCache monthSummaryCache;
+
+    public MonthCategoryTotalsService(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            MonthSummaryCache monthSummaryCache
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.monthSummaryCache = monthSummaryCache;
+    }
+
+    public void add(BudgetTransaction transaction) {
+        apply(keyOf(transaction), transaction.getAmount(), 1);
+    }
+
+    public void remove(BudgetTransaction transaction) {
+        apply(keyOf(transaction), transaction.getAmount().negate(), -1);
+    }
+
+    public long addImportedSince(Long importBatchId, long afterTransactionId) {
+        long maxId = afterTransactionId;
+        for (ImportedTotals totals : importBatchTotals(importBatchId, afterTransactionId)) {
+            apply(totals.key(), totals.totalAmount(), totals.transactionCount());
+            maxId = Math.max(maxId, totals.maxId());
+        }
+        return maxId;
+    }
+
+    public void removeImportBatch(Long importBatchId) {
+        for (ImportedTotals totals : importBatchTotals(importBatchId, 0L)) {
+            apply(totals.key(), totals.totalAmount().negate(), -totals.transactionCount());
+        }
+    }
+
+    @Transactional
+    public MonthCategoryTotalsRebuildDto rebuild() {
+        // Imports and manual edits adjust rows in place; hold them off until the rebuilt rows commit.
+        lockTotals();
+        entityManager.flush();
+        Map<Key, Totals> current = totalsByKey(ROLLUP_ROWS_SQL);
+        Map<Key, Totals> expected = totalsByKey(TRANSACTION_TOTALS_SQL);
+        int mismatched = 0;
+        for (Map.Entry<Key, Totals> entry : expected.entrySet()) {
+            if (!entry.getValue().matches(current.remove(entry.getKey()))) {
+                mismatched++;
+            }
+        }
+        mismatched += current.size();
+
+        jdbcTemplate.update("delete from month_category_totals");
+        int rows = jdbcTemplate.update(REBUILD_SQL);
+        monthSummaryCache.invalidateAll();
+        return new MonthCategoryTotalsRebuildDto(rows, mismatched);
+    }
+
+    @Transactional
+    public boolean rebuildIfStale() {
+        Integer stale = jdbcTemplate.queryForObject(STALE_SQL, Integer.class);
+        if (stale == null || stale == 0) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    private void lockTotals() {
+        boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+        if (postgres) {
+            jdbcTemplate.execute(LOCK_SQL);
+        }
+    }
+
+    private void apply(Key key, BigDecimal amount, long count) {
+        Object[] updateArgs = {
+                amount,
+                count,
+                key.budgetMonthId(),
+                key.accountId(),
+                key.categoryId(),
+                key.transactionType().name()
+        };
+        if (jdbcTemplate.update(UPDATE_SQL, updateArgs) > 0) {
+            return;
+        }
+        int inserted = jdbcTemplate.update(
+                INSERT_SQL,
+                key.budgetMonthId(),
+                key.accountId(),
+                key.categoryId(),
+                key.transactionType().name(),
+                amount,
+                count
+        );
+        if (inserted == 0) {
+            jdbcTemplate.update(UPDATE_SQL, updateArgs);
+        }
+    }
+
+    private List<ImportedTotals> importBatchTotals(Long importBatchId, long afterTransactionId) {
+        return jdbcTemplate.query(
+                IMPORT_BATCH_TOTALS_SQL,
+                (rs, rowNum) -> new ImportedTotals(
+                        keyOf(rs),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getLong("transaction_count"),
+                        rs.getLong("max_id")
+                ),
+                importBatchId,
+                afterTransactionId
+        );
+    }
+
+    private Map<Key, Totals> totalsByKey(String sql) {
+        Map<Key, Totals> totals = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            totals.put(keyOf(rs), new Totals(rs.getBigDecimal("total_amount"), rs.getLong("transaction_count")));
+        });
+        return totals;
+    }
+
+    private static Key keyOf(BudgetTransaction transaction) {
+        return new Key(
+                transaction.getBudgetMonth().getId(),
+                Objects.requireNonNull(transaction.getAccount(), "transaction account").getId(),
+                transaction.getCategory().getId(),
+                transaction.getTransactionType()
+        );
+    }
+
+    private static Key keyOf(ResultSet rs) throws SQLException {
+        return new Key(
+                rs.getLong("budget_month_id"),
+                rs.getObject("account_id", Long.class),
+                rs.getLong("category_id"),
+                TransactionType.valueOf(rs.getString("transaction_type"))
+        );
+    }
+
+    private record Key(Long budgetMonthId, Long accountId, Long categoryId, TransactionType transactionType) {
+    }
+
+    private record Totals(BigDecimal totalAmount, long transactionCount) {
+
+        private boolean matches(Totals other) {
+            return other != null
+                    && transactionCount == other.transactionCount
+                    && totalAmount.compareTo(other.totalAmount) == 0;
+        }
+    }
+
+    private record ImportedTotals(Key key, BigDecimal totalAmount, long transactionCount, long maxId) {
+    }
+}
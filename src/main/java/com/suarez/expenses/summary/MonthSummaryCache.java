@@ -0,0 +1,139 @@
+package com.suarez.expenses.summary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class MonthSummaryCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<MonthSummaryKey, CachedMonthSummary> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Counter sizeEvictions;
+    private final Counter invalidations;
+    private long generation;
+
+    public MonthSummaryCache(SummaryProperties properties, MeterRegistry registry) {
+        this.maxEntries = Math.max(0, properties.cacheMaxEntries());
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MonthSummaryKey, CachedMonthSummary> eldest) {
+                if (size() > maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("summary.cache.gets", hits, AtomicLong::get)
+                .description("Month summary lookups served from the cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("summary.cache.gets", misses, AtomicLong::get)
+                .description("Month summary lookups that had to be computed")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("summary.cache.hit.ratio", this, MonthSummaryCache::hitRatio)
+                .description("Share of month summary lookups served from the cache")
+                .register(registry);
+        Gauge.builder("summary.cache.size", this, MonthSummaryCache::size)
+                .description("Month summaries currently cached")
+                .register(registry);
+        this.sizeEvictions = Counter.builder("summary.cache.evictions")
+                .description("Month summaries dropped from the cache")
+                .tag("cause", "size")
+                .register(registry);
+        this.invalidations = Counter.builder("summary.cache.evictions")
+                .description("Month summaries dropped from the cache")
+                .tag("cause", "invalidation")
+                .register(registry);
+    }
+
+    public CachedMonthSummary get(MonthSummaryKey key, Supplier<CachedMonthSummary> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        long loadGeneration;
+        synchronized (this) {
+            CachedMonthSummary cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        CachedMonthSummary loaded = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration && maxEntries > 0) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(LocalDate monthStart) {
+        evict(monthStart);
+        afterCommit(() -> evict(monthStart));
+    }
+
+    public void invalidateAll() {
+        evictAll();
+        afterCommit(this::evictAll);
+    }
+
+    private synchronized void evict(LocalDate monthStart) {
+        generation++;
+        Iterator<MonthSummaryKey> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().monthStart().equals(monthStart)) {
+                keys.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private synchronized void evictAll() {
+        generation++;
+        invalidations.increment(entries.size());
+        entries.clear();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized double size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -1,12 +1,16 @@
 package com.suarez.expenses.summary;
 
 import com.suarez.expenses.month.YearMonthParser;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/months/{yearMonth}")
@@ -19,9 +23,15 @@ public class MonthSummaryController {
     }
 
     @GetMapping("/summary")
-    public MonthSummaryDto summary(@PathVariable String yearMonth) {
+    public ResponseEntity<MonthSummaryDto> summary(
+            @PathVariable String yearMonth,
+            @RequestParam(name = "accountId", required = false) List<Long> accountIds
+    ) {
         LocalDate monthStart = YearMonthParser.parseToMonthStart(yearMonth);
-        return monthSummaryService.getSummary(monthStart);
+        CachedMonthSummary summary = monthSummaryService.getCachedSummary(monthStart, accountIds);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(summary.etag())
+                .body(summary.summary());
     }
 }
-
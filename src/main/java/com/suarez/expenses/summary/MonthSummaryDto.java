@@ -12,7 +12,9 @@ public record MonthSummaryDto(
         SummaryTotalsDto expenseTotals,
         SummaryTotalsDto incomeTotals,
         List<SummaryCategoryDto> expenseCategories,
-        List<SummaryCategoryDto> incomeCategories
+        List<SummaryCategoryDto> incomeCategories,
+        List<Long> accountIds,
+        List<AccountSummaryDto> accounts
 ) {
 }
 
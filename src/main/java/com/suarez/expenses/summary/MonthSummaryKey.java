@@ -0,0 +1,13 @@
+package com.suarez.expenses.summary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MonthSummaryKey(
+        LocalDate monthStart,
+        List<Long> accountIds
+) {
+    public MonthSummaryKey {
+        accountIds = accountIds == null ? List.of() : accountIds.stream().distinct().sorted().toList();
+    }
+}
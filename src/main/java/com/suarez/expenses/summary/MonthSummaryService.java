@@ -1,21 +1,26 @@
 package com.suarez.expenses.summary;
 
+import com.suarez.expenses.account.Account;
+import com.suarez.expenses.account.AccountService;
 import com.suarez.expenses.category.Category;
 import com.suarez.expenses.category.CategoryRepository;
 import com.suarez.expenses.category.CategoryType;
 import com.suarez.expenses.month.BudgetMonth;
 import com.suarez.expenses.month.BudgetMonthService;
 import com.suarez.expenses.month.YearMonthParser;
-import com.suarez.expenses.plan.BudgetPlan;
+import com.suarez.expenses.plan.CategoryPlanTotal;
 import com.suarez.expenses.plan.BudgetPlanRepository;
-import com.suarez.expenses.transaction.BudgetTransaction;
-import com.suarez.expenses.transaction.BudgetTransactionRepository;
+import com.suarez.expenses.transaction.CategoryTransactionTotal;
 import com.suarez.expenses.transaction.TransactionType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -27,41 +32,78 @@ public class MonthSummaryService {
     private final BudgetMonthService budgetMonthService;
     private final CategoryRepository categoryRepository;
     private final BudgetPlanRepository budgetPlanRepository;
-    private final BudgetTransactionRepository budgetTransactionRepository;
+    private final MonthCategoryTotalRepository monthCategoryTotalRepository;
+    private final AccountService accountService;
+    private final MonthSummaryCache monthSummaryCache;
+    private final TransactionTemplate readOnlyTransaction;
 
     public MonthSummaryService(
             BudgetMonthService budgetMonthService,
             CategoryRepository categoryRepository,
             BudgetPlanRepository budgetPlanRepository,
-            BudgetTransactionRepository budgetTransactionRepository
+            MonthCategoryTotalRepository monthCategoryTotalRepository,
+            AccountService accountService,
+            MonthSummaryCache monthSummaryCache,
+            PlatformTransactionManager transactionManager
     ) {
         this.budgetMonthService = budgetMonthService;
         this.categoryRepository = categoryRepository;
         this.budgetPlanRepository = budgetPlanRepository;
-        this.budgetTransactionRepository = budgetTransactionRepository;
+        this.monthCategoryTotalRepository = monthCategoryTotalRepository;
+        this.accountService = accountService;
+        this.monthSummaryCache = monthSummaryCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    @Transactional(readOnly = true)
     public MonthSummaryDto getSummary(LocalDate monthStart) {
-        BudgetMonth budgetMonth = budgetMonthService.findByMonthStart(monthStart)
-                .orElse(new BudgetMonth(monthStart, ZERO));
-        List<BudgetPlan> plans = budgetMonth.getId() == null
+        return getSummary(monthStart, List.of());
+    }
+
+    public MonthSummaryDto getSummary(LocalDate monthStart, List<Long> accountIds) {
+        return getCachedSummary(monthStart, accountIds).summary();
+    }
+
+    public CachedMonthSummary getCachedSummary(LocalDate monthStart, List<Long> accountIds) {
+        MonthSummaryKey key = new MonthSummaryKey(monthStart, accountIds);
+        return monthSummaryCache.get(key, () -> readOnlyTransaction.execute(status -> {
+            MonthSummaryDto summary = buildSummary(key);
+            return new CachedMonthSummary(summary, etagFor(summary));
+        }));
+    }
+
+    private MonthSummaryDto buildSummary(MonthSummaryKey key) {
+        List<Account> accounts = key.accountIds().isEmpty()
                 ? List.of()
-                : budgetPlanRepository.findByBudgetMonthId(budgetMonth.getId());
-        List<BudgetTransaction> transactions = budgetMonth.getId() == null
+                : accountService.resolveAccounts(key.accountIds());
+        BudgetMonth budgetMonth = budgetMonthService.findByMonthStart(key.monthStart())
+                .orElse(new BudgetMonth(key.monthStart(), ZERO));
+        List<CategoryPlanTotal> planTotals = budgetMonth.getId() == null
                 ? List.of()
-                : budgetTransactionRepository.findByBudgetMonthId(budgetMonth.getId());
+                : budgetPlanRepository.sumByCategory(budgetMonth.getId());
+        List<AccountCategoryTotal> accountTotals;
+        if (budgetMonth.getId() == null) {
+            accountTotals = List.of();
+        } else if (accounts.isEmpty()) {
+            accountTotals = monthCategoryTotalRepository.sumByAccountCategoryAndType(budgetMonth.getId());
+        } else {
+            accountTotals = monthCategoryTotalRepository.sumByAccountCategoryAndType(budgetMonth.getId(), key.accountIds());
+        }
+        List<CategoryTransactionTotal> transactionTotals = combineAccounts(accountTotals);
+        Map<Long, Category> categories = loadCategories(planTotals, transactionTotals);
 
         List<SummaryCategoryDto> expenseCategories = buildCategorySummary(
                 CategoryType.EXPENSE,
-                plans,
-                transactions,
+                categories,
+                planTotals,
+                transactionTotals,
                 TransactionType.EXPENSE
         );
         List<SummaryCategoryDto> incomeCategories = buildCategorySummary(
                 CategoryType.INCOME,
-                plans,
-                transactions,
+                categories,
+                planTotals,
+                transactionTotals,
                 TransactionType.INCOME
         );
 
@@ -81,43 +123,140 @@ public class MonthSummaryService {
                 expenseTotals,
                 incomeTotals,
                 expenseCategories,
-                incomeCategories
+                incomeCategories,
+                key.accountIds(),
+                accountSummaries(accounts, categories, accountTotals)
         );
     }
 
+    private List<CategoryTransactionTotal> combineAccounts(List<AccountCategoryTotal> accountTotals) {
+        Map<Long, BigDecimal> expenses = new LinkedHashMap<>();
+        Map<Long, BigDecimal> income = new LinkedHashMap<>();
+        for (AccountCategoryTotal total : accountTotals) {
+            Map<Long, BigDecimal> target = total.transactionType() == TransactionType.EXPENSE ? expenses : income;
+            target.merge(total.categoryId(), total.total(), BigDecimal::add);
+        }
+        List<CategoryTransactionTotal> combined = new ArrayList<>();
+        expenses.forEach((categoryId, total) -> combined.add(new CategoryTransactionTotal(categoryId, TransactionType.EXPENSE, total)));
+        income.forEach((categoryId, total) -> combined.add(new CategoryTransactionTotal(categoryId, TransactionType.INCOME, total)));
+        return combined;
+    }
+
+    private List<AccountSummaryDto> accountSummaries(
+            List<Account> accounts,
+            Map<Long, Category> categories,
+            List<AccountCategoryTotal> accountTotals
+    ) {
+        Map<Long, List<AccountCategoryTotal>> totalsByAccount = new HashMap<>();
+        for (AccountCategoryTotal total : accountTotals) {
+            totalsByAccount.computeIfAbsent(total.accountId(), ignored -> new ArrayList<>()).add(total);
+        }
+
+        List<AccountSummaryDto> summaries = new ArrayList<>();
+        for (Account account : accounts) {
+            List<AccountCategoryTotal> totals = totalsByAccount.getOrDefault(account.getId(), List.of());
+            List<AccountCategoryActualDto> expenseCategories = accountCategories(categories, totals, TransactionType.EXPENSE);
+            List<AccountCategoryActualDto> incomeCategories = accountCategories(categories, totals, TransactionType.INCOME);
+            BigDecimal expenseActual = sumActuals(expenseCategories);
+            BigDecimal incomeActual = sumActuals(incomeCategories);
+            summaries.add(new AccountSummaryDto(
+                    account.getId(),
+                    account.getName(),
+                    expenseActual,
+                    incomeActual,
+                    scale(incomeActual.subtract(expenseActual)),
+                    expenseCategories,
+                    incomeCategories
+            ));
+        }
+        return summaries;
+    }
+
+    private List<AccountCategoryActualDto> accountCategories(
+            Map<Long, Category> categories,
+            List<AccountCategoryTotal> totals,
+            TransactionType transactionType
+    ) {
+        Map<Long, BigDecimal> actualByCategoryId = new HashMap<>();
+        for (AccountCategoryTotal total : totals) {
+            if (total.transactionType() == transactionType) {
+                actualByCategoryId.put(total.categoryId(), scale(total.total()));
+            }
+        }
+        List<AccountCategoryActualDto> rows = new ArrayList<>();
+        for (Category category : categories.values()) {
+            BigDecimal actual = actualByCategoryId.get(category.getId());
+            if (actual != null) {
+                rows.add(new AccountCategoryActualDto(category.getId(), category.getName(), actual));
+            }
+        }
+        return rows;
+    }
+
+    private BigDecimal sumActuals(List<AccountCategoryActualDto> rows) {
+        BigDecimal total = ZERO;
+        for (AccountCategoryActualDto row : rows) {
+            total = total.add(row.actual());
+        }
+        return scale(total);
+    }
+
+    private Map<Long, Category> loadCategories(
+            List<CategoryPlanTotal> planTotals,
+            List<CategoryTransactionTotal> transactionTotals
+    ) {
+        Map<Long, Category> categories = new LinkedHashMap<>();
+        categoryRepository.findByActiveTrueOrderBySortOrderAscNameAsc()
+                .forEach(category -> categories.put(category.getId(), category));
+
+        Set<Long> missingIds = new TreeSet<>();
+        planTotals.forEach(total -> missingIds.add(total.categoryId()));
+        transactionTotals.forEach(total -> missingIds.add(total.categoryId()));
+        missingIds.removeAll(categories.keySet());
+        if (!missingIds.isEmpty()) {
+            categoryRepository.findAllById(missingIds).stream()
+                    .sorted(Comparator.comparing(Category::getId))
+                    .forEach(category -> categories.put(category.getId(), category));
+        }
+        return categories;
+    }
+
     private List<SummaryCategoryDto> buildCategorySummary(
             CategoryType categoryType,
-            List<BudgetPlan> plans,
-            List<BudgetTransaction> transactions,
+            Map<Long, Category> categories,
+            List<CategoryPlanTotal> planTotals,
+            List<CategoryTransactionTotal> transactionTotals,
             TransactionType transactionType
     ) {
-        Map<Long, Category> orderedCategories = new LinkedHashMap<>();
-        categoryRepository.findByTypeAndActiveTrueOrderBySortOrderAscNameAsc(categoryType)
-                .forEach(category -> orderedCategories.put(category.getId(), category));
-
         Map<Long, BigDecimal> plannedByCategoryId = new HashMap<>();
-        for (BudgetPlan plan : plans) {
-            if (plan.getCategory().getType() != categoryType) {
-                continue;
+        for (CategoryPlanTotal total : planTotals) {
+            if (total.categoryType() == categoryType) {
+                plannedByCategoryId.put(total.categoryId(), scale(total.total()));
             }
-            orderedCategories.putIfAbsent(plan.getCategory().getId(), plan.getCategory());
-            plannedByCategoryId.merge(plan.getCategory().getId(), scale(plan.getPlannedAmount()), BigDecimal::add);
         }
 
         Map<Long, BigDecimal> actualByCategoryId = new HashMap<>();
-        for (BudgetTransaction transaction : transactions) {
-            if (transaction.getTransactionType() != transactionType) {
-                continue;
+        for (CategoryTransactionTotal total : transactionTotals) {
+            if (total.transactionType() == transactionType) {
+                actualByCategoryId.put(total.categoryId(), scale(total.total()));
+            }
+        }
+
+        List<Category> ordered = new ArrayList<>();
+        List<Category> extra = new ArrayList<>();
+        for (Category category : categories.values()) {
+            if (category.isActive() && category.getType() == categoryType) {
+                ordered.add(category);
+            } else if (plannedByCategoryId.containsKey(category.getId()) || actualByCategoryId.containsKey(category.getId())) {
+                extra.add(category);
             }
-            Category category = transaction.getCategory();
-            orderedCategories.putIfAbsent(category.getId(), category);
-            actualByCategoryId.merge(category.getId(), scale(transaction.getAmount()), BigDecimal::add);
         }
+        ordered.addAll(extra);
 
         List<SummaryCategoryDto> rows = new ArrayList<>();
-        for (Category category : orderedCategories.values()) {
-            BigDecimal planned = scale(plannedByCategoryId.getOrDefault(category.getId(), ZERO));
-            BigDecimal actual = scale(actualByCategoryId.getOrDefault(category.getId(), ZERO));
+        for (Category category : ordered) {
+            BigDecimal planned = plannedByCategoryId.getOrDefault(category.getId(), ZERO);
+            BigDecimal actual = actualByCategoryId.getOrDefault(category.getId(), ZERO);
             BigDecimal diff = categoryType == CategoryType.EXPENSE
                     ? planned.subtract(actual)
                     : actual.subtract(planned);
@@ -145,6 +284,16 @@ public class MonthSummaryService {
         return new SummaryTotalsDto(scale(planned), scale(actual), scale(diff));
     }
 
+    private String etagFor(MonthSummaryDto summary) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(summary.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
     private BigDecimal scale(BigDecimal value) {
         return value.setScale(2, RoundingMode.HALF_UP);
     }
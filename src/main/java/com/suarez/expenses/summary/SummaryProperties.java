@@ -0,0 +1,10 @@
+package com.suarez.expenses.summary;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "expenses.summary")
+public record SummaryProperties(
+        @DefaultValue("240") int cacheMaxEntries
+) {
+}
@@ -1,6 +1,9 @@
 package com.suarez.expenses.transaction;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -22,11 +25,20 @@ public interface BudgetTransactionRepository extends JpaRepository<BudgetTransac
 
     List<BudgetTransaction> findByAccountIsNull();
 
-    List<BudgetTransaction> findByAccountIdAndSourceExternalIdIn(Long accountId, Collection<String> sourceExternalIds);
+    @Query("select t.sourceExternalId from BudgetTransaction t where t.account.id = :accountId and t.sourceExternalId in :externalIds")
+    List<String> findExistingExternalIds(@Param("accountId") Long accountId, @Param("externalIds") Collection<String> externalIds);
 
-    List<BudgetTransaction> findByAccountIdAndDedupeFingerprintIn(Long accountId, Collection<String> dedupeFingerprints);
+    @Query("select t.dedupeFingerprint from BudgetTransaction t where t.account.id = :accountId and t.dedupeFingerprint in :fingerprints")
+    List<String> findExistingFingerprints(@Param("accountId") Long accountId, @Param("fingerprints") Collection<String> fingerprints);
 
     List<BudgetTransaction> findByAccountIdAndTxnDateBetween(Long accountId, LocalDate fromDate, LocalDate toDate);
 
     boolean existsByCategoryId(Long categoryId);
+
+    @Query("select distinct t.budgetMonth.monthStart from BudgetTransaction t where t.importBatch.id = :importBatchId")
+    List<LocalDate> findMonthStartsByImportBatchId(@Param("importBatchId") Long importBatchId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BudgetTransaction t where t.importBatch.id = :importBatchId")
+    int deleteByImportBatchId(@Param("importBatchId") Long importBatchId);
 }
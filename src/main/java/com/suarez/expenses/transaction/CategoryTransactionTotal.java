@@ -0,0 +1,10 @@
+package com.suarez.expenses.transaction;
+
+import java.math.BigDecimal;
+
+public record CategoryTransactionTotal(
+        Long categoryId,
+        TransactionType transactionType,
+        BigDecimal total
+) {
+}
@@ -10,6 +10,8 @@ import com.suarez.expenses.common.NotFoundException;
 import com.suarez.expenses.month.BudgetMonth;
 import com.suarez.expenses.month.BudgetMonthService;
 import com.suarez.expenses.month.YearMonthParser;
+import com.suarez.expenses.summary.MonthCategoryTotalsService;
+import com.suarez.expenses.summary.MonthSummaryCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,17 +27,23 @@ public class TransactionService {
     private final BudgetMonthService budgetMonthService;
     private final CategoryService categoryService;
     private final AccountService accountService;
+    private final MonthCategoryTotalsService monthCategoryTotalsService;
+    private final MonthSummaryCache monthSummaryCache;
 
     public TransactionService(
             BudgetTransactionRepository budgetTransactionRepository,
             BudgetMonthService budgetMonthService,
             CategoryService categoryService,
-            AccountService accountService
+            AccountService accountService,
+            MonthCategoryTotalsService monthCategoryTotalsService,
+            MonthSummaryCache monthSummaryCache
     ) {
         this.budgetTransactionRepository = budgetTransactionRepository;
         this.budgetMonthService = budgetMonthService;
         this.categoryService = categoryService;
         this.accountService = accountService;
+        this.monthCategoryTotalsService = monthCategoryTotalsService;
+        this.monthSummaryCache = monthSummaryCache;
     }
 
     @Transactional(readOnly = true)
@@ -78,7 +86,10 @@ public class TransactionService {
                 request.description().trim(),
                 category
         );
-        return toDto(budgetTransactionRepository.save(transaction));
+        BudgetTransaction saved = budgetTransactionRepository.save(transaction);
+        monthCategoryTotalsService.add(saved);
+        monthSummaryCache.invalidate(monthStart);
+        return toDto(saved);
     }
 
     @Transactional
@@ -101,10 +112,13 @@ public class TransactionService {
                 .orElseThrow(() -> new NotFoundException("Transaction not found: " + id));
         Category category = validateCategoryForType(type, request.categoryId());
 
+        monthCategoryTotalsService.remove(transaction);
         transaction.setTxnDate(request.date());
         transaction.setAmount(scale(request.amount()));
         transaction.setDescription(request.description().trim());
         transaction.setCategory(category);
+        monthCategoryTotalsService.add(transaction);
+        monthSummaryCache.invalidate(monthStart);
 
         return toDto(budgetTransactionRepository.save(transaction));
     }
@@ -126,7 +140,9 @@ public class TransactionService {
                         type
                 )
                 .orElseThrow(() -> new NotFoundException("Transaction not found: " + id));
+        monthCategoryTotalsService.remove(transaction);
         budgetTransactionRepository.delete(transaction);
+        monthSummaryCache.invalidate(monthStart);
     }
 
     private Category validateCategoryForType(TransactionType type, Long categoryId) {
@@ -0,0 +1,80 @@
+package com.suarez.expenses.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AccountControllerTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRenameAndDeactivateAnAccount() throws Exception {
+        AccountDto account = accountService.create(new CreateAccountRequest("Endpoint Savings", "Credit Union", "1234"));
+
+        mockMvc.perform(put("/api/accounts/{id}", account.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Endpoint Joint Savings\",\"last4\":\"\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Endpoint Joint Savings"))
+                .andExpect(jsonPath("$.institutionName").value("Credit Union"))
+                .andExpect(jsonPath("$.last4").isEmpty());
+
+        mockMvc.perform(delete("/api/accounts/{id}", account.id()))
+                .andExpect(status().isNoContent());
+
+        assertThat(accountService.list(false)).extracting(AccountDto::id).doesNotContain(account.id());
+        assertThat(accountService.list(true)).extracting(AccountDto::id).contains(account.id());
+    }
+
+    @Test
+    void shouldRejectRenamingOrDeactivatingTheDefaultAccount() throws Exception {
+        Account primary = accountService.getOrCreateDefault();
+
+        mockMvc.perform(put("/api/accounts/{id}", primary.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Everyday\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/accounts/{id}", primary.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\":false}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/accounts/{id}", primary.getId()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(accountService.getOrCreateDefault().getId()).isEqualTo(primary.getId());
+        assertThat(accountService.resolveAccounts(List.of(primary.getId()))).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectRenamingOntoAnExistingAccount() throws Exception {
+        accountService.create(new CreateAccountRequest("Endpoint Travel", null, null));
+        AccountDto other = accountService.create(new CreateAccountRequest("Endpoint Groceries", null, null));
+
+        mockMvc.perform(put("/api/accounts/{id}", other.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"endpoint travel\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/accounts/{id}", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+}
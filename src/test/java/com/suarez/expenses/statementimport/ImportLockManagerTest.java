@@ -0,0 +1,47 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportLockManagerTest {
+
+    private final ImportLockManager lockManager = new ImportLockManager(new StatementImportProperties(
+            500, ImportCommitMode.SINGLE_TRANSACTION, 500, 1, 50, 100, null, null, null, 64, Duration.ofMillis(100), 1, 0, null
+    ));
+
+    @Test
+    void shouldSerializeImportsForTheSameAccountButNotForOthers() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> firstImport = CompletableFuture.runAsync(() -> lockManager.withAccountLock(1L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(lockManager.withAccountLock(2L, () -> "other account")).isEqualTo("other account");
+        assertThatThrownBy(() -> lockManager.withAccountLock(1L, () -> "same account"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        firstImport.get(5, TimeUnit.SECONDS);
+        assertThat(lockManager.withAccountLock(1L, () -> "same account")).isEqualTo("same account");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
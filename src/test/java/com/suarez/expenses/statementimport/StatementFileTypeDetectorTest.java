@@ -0,0 +1,115 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementFileTypeDetectorTest {
+
+    private final StatementFileTypeDetector detector = new StatementFileTypeDetector();
+    private final CsvStatementParser csvParser = new CsvStatementParser(
+            new ParallelRowProcessor(new ForkJoinPool(1)),
+            new StatementImportProperties(500, ImportCommitMode.SINGLE_TRANSACTION, 500, 1, 50, 100, null, null, null, 1, null, 1, 0, null)
+    );
+
+    @Test
+    void shouldDetectWindows1252SemicolonCsvAndDecodeDescriptions() throws IOException {
+        byte[] content = """
+                Date;Amount;Description
+                2026-03-01;-4.50;Café Crème
+                2026-03-02;-12.00;Boulangerie
+                """.getBytes(Charset.forName("windows-1252"));
+        BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content));
+
+        StatementFormat format = detector.detect("export.csv", inputStream);
+
+        assertThat(format.fileType()).isEqualTo(StatementFileType.CSV);
+        assertThat(format.charset()).isEqualTo(Charset.forName("windows-1252"));
+        assertThat(format.delimiter()).isEqualTo(';');
+
+        CollectingStatementRowSink sink = new CollectingStatementRowSink();
+        csvParser.parse(inputStream, format, null, sink);
+        assertThat(sink.rows())
+                .extracting(NormalizedStatementRow::description)
+                .containsExactly("Café Crème", "Boulangerie");
+    }
+
+    @Test
+    void shouldSkipUtf8BomAndDetectTabSeparatedValues() throws IOException {
+        byte[] text = "date\tamount\tdescription\n2026-03-01\t-4.50\tCafé\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[text.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, content, 3, text.length);
+        BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content));
+
+        StatementFormat format = detector.detect("export.tsv", inputStream);
+
+        assertThat(format).isEqualTo(new StatementFormat(StatementFileType.CSV, StandardCharsets.UTF_8, '\t'));
+        assertThat(inputStream.read()).isEqualTo('d');
+    }
+
+    @Test
+    void shouldDetectOfxContentRegardlessOfExtensionWithoutConsumingIt() throws IOException {
+        byte[] content = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                CHARSET:1252
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                """.getBytes(StandardCharsets.US_ASCII);
+        BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content));
+
+        StatementFormat format = detector.detect("statement.csv", inputStream);
+
+        assertThat(format.fileType()).isEqualTo(StatementFileType.OFX);
+        assertThat(format.charset()).isEqualTo(Charset.forName("windows-1252"));
+        assertThat(inputStream.readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void shouldRejectDisallowedExtensionsEvenWhenContentLooksLikeAStatement() {
+        byte[] content = "date,amount,description\n2026-03-01,-4.50,Tea\n".getBytes(StandardCharsets.UTF_8);
+        BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content));
+
+        assertThatThrownBy(() -> detector.detect("statement.txt", inputStream))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Unsupported file extension");
+    }
+
+    @Test
+    void shouldReportAmountsThatMixDecimalSeparatorsAsRowErrors() throws IOException {
+        byte[] content = """
+                date;amount;description
+                2026-03-01;-4,50;Café
+                2026-03-02;-1,204.00;Rent
+                2026-03-03;-7,25;Bakery
+                """.getBytes(StandardCharsets.UTF_8);
+        BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content));
+        StatementFormat format = detector.detect("export.csv", inputStream);
+
+        CollectingStatementRowSink sink = new CollectingStatementRowSink();
+        csvParser.parse(inputStream, format, null, sink);
+
+        assertThat(sink.rows())
+                .extracting(NormalizedStatementRow::signedAmount)
+                .containsExactly(new BigDecimal("-4.50"), new BigDecimal("-7.25"));
+        assertThat(sink.issues())
+                .singleElement()
+                .satisfies(issue -> {
+                    assertThat(issue.severity()).isEqualTo(ImportIssueSeverity.ERROR);
+                    assertThat(issue.rowNumber()).isEqualTo(4);
+                    assertThat(issue.message()).contains("decimal separator");
+                });
+    }
+}
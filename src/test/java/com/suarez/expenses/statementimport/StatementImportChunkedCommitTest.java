@@ -0,0 +1,202 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.transaction.BudgetTransaction;
+import com.suarez.expenses.transaction.BudgetTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "expenses.statement-import.commit-mode=CHUNKED",
+        "expenses.statement-import.chunk-size=2"
+})
+class StatementImportChunkedCommitTest {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BudgetTransactionRepository budgetTransactionRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Test
+    void shouldKeepCommittedChunksAndMarkBatchPartiallyCompletedWhenLaterChunkFails() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Chunked Import Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                2024-08-01,-10.00,Groceries,chunk-1
+                2024-08-02,-20.00,Fuel,chunk-2
+                2024-08-03,-30.00,Pharmacy,chunk-3
+                2024-08-04,-123456789012.00,Broken amount,chunk-4
+                2024-08-05,-50.00,Dinner,chunk-5
+                """;
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "chunked.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.COMPLETED);
+        assertThat(response.summary().inserted()).isEqualTo(2);
+        assertThat(response.summary().parseErrors()).hasSize(1);
+        assertThat(response.summary().parseErrors().get(0).message()).startsWith("Import stopped after 2 inserted rows");
+
+        ImportBatch batch = importBatchRepository.findById(response.summary().importBatchId()).orElseThrow();
+        assertThat(batch.getStatus()).isEqualTo(ImportBatchStatus.PARTIALLY_COMPLETED);
+        assertThat(batch.getInsertedCount()).isEqualTo(2);
+        assertThat(batch.getParseErrorCount()).isEqualTo(1);
+        assertThat(batch.getCompletedAt()).isNotNull();
+
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2024, 8, 1),
+                LocalDate.of(2024, 8, 31)
+        )).hasSize(2);
+    }
+
+    @Test
+    void shouldMarkBatchPartiallyCompletedWhenParsingFailsAfterCommittedChunks() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Chunked Parse Failure Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                2024-10-01,-10.00,Groceries,stop-1
+                2024-10-02,-20.00,Fuel,stop-2
+                2024-10-03,-30.00,Pharmacy,stop-3
+                2024-10-04,-40.00,Books,stop-4
+                2024-10-05,-50.00,"Dinner"x,stop-5
+                2024-10-06,-60.00,Cinema,stop-6
+                """;
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "stopped.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.summary().inserted()).isEqualTo(4);
+        assertThat(response.summary().parseErrors()).hasSize(1);
+        assertThat(response.summary().parseErrors().get(0).message())
+                .startsWith("Import stopped after 4 inserted rows: Unable to parse statement");
+
+        ImportBatch batch = importBatchRepository.findById(response.summary().importBatchId()).orElseThrow();
+        assertThat(batch.getStatus()).isEqualTo(ImportBatchStatus.PARTIALLY_COMPLETED);
+        assertThat(batch.getInsertedCount()).isEqualTo(4);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2024, 10, 1),
+                LocalDate.of(2024, 10, 31)
+        )).hasSize(4);
+    }
+
+    @Test
+    void shouldCommitEveryChunkAndCompleteBatch() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Chunked Complete Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                2024-09-01,-10.00,Groceries,done-1
+                2024-09-02,-20.00,Fuel,done-2
+                2024-09-03,-20.00,Fuel,done-2
+                2024-09-04,0.00,Adjustment,done-3
+                2024-09-05,1500.00,Payroll,done-4
+                """;
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "chunked.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.summary().inserted()).isEqualTo(3);
+        assertThat(response.summary().skippedDuplicates()).isEqualTo(1);
+        assertThat(response.summary().warnings()).hasSize(1);
+
+        ImportBatch batch = importBatchRepository.findById(response.summary().importBatchId()).orElseThrow();
+        assertThat(batch.getStatus()).isEqualTo(ImportBatchStatus.COMPLETED_WITH_WARNINGS);
+        assertThat(batch.getParsedRowCount()).isEqualTo(5);
+        assertThat(batch.getInsertedCount()).isEqualTo(3);
+        assertThat(batch.getSkippedDuplicatesCount()).isEqualTo(1);
+        assertThat(batch.getWarningCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordAFailedEntryAndKeepImportingTheRestOfAnArchive() throws IOException {
+        AccountDto account = accountService.create(new CreateAccountRequest("Chunked Archive Checking", null, null));
+
+        ArchiveImportResultDto result = statementImportService.importArchive(
+                account.id(),
+                zipOf(
+                        "2024-05.csv", "date,amount,description,id\n2024-05-01,-10.00,Groceries,chunkzip-1\n",
+                        "2024-06.csv", "date,amount,description,id\n2024-06-01,-20.00,\"Fuel\"x,chunkzip-3\n",
+                        "2024-07.csv", "date,amount,description,id\n2024-07-01,-40.00,Dinner,chunkzip-2\n"
+                ),
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        assertThat(result.entries())
+                .extracting(ArchiveEntryImportDto::fileName, ArchiveEntryImportDto::status)
+                .containsExactly(
+                        tuple("2024-05.csv", ImportBatchStatus.COMPLETED),
+                        tuple("2024-06.csv", ImportBatchStatus.FAILED),
+                        tuple("2024-07.csv", ImportBatchStatus.COMPLETED)
+                );
+        assertThat(result.parseErrorCount()).isEqualTo(1);
+        assertThat(importBatchRepository.findById(result.entries().get(1).summary().importBatchId()).orElseThrow().getStatus())
+                .isEqualTo(ImportBatchStatus.FAILED);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2024, 5, 1),
+                LocalDate.of(2024, 7, 31)
+        )).hasSize(2);
+    }
+
+    private static MockMultipartFile zipOf(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "statements.zip", "application/zip", archive.toByteArray());
+    }
+}
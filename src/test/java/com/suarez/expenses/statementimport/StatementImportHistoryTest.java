@@ -0,0 +1,106 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.common.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "expenses.statement-import.inline-issue-limit=1",
+        "expenses.statement-import.chunk-size=2"
+})
+@Transactional
+class StatementImportHistoryTest {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void shouldCapInlineIssuesAndPageThroughThemBySeverity() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Issue Paging Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                not-a-date,-10.00,Broken 1,issue-1
+                not-a-date,-11.00,Broken 2,issue-2
+                not-a-date,-12.00,Broken 3,issue-3
+                2026-12-01,0.00,Zero row,issue-4
+                2026-12-02,-20.00,Groceries,issue-5
+                """;
+
+        ImportSummaryDto summary = importCsv(account.id(), "issues.csv", csv);
+
+        assertThat(summary.parseErrors()).hasSize(1);
+        assertThat(summary.warnings()).hasSize(1);
+        assertThat(summary.parseErrorCount()).isEqualTo(3);
+        assertThat(summary.warningCount()).isEqualTo(1);
+        assertThat(summary.issuesTruncated()).isTrue();
+        assertThat(summary.issuesUrl())
+                .isEqualTo("/api/accounts/" + account.id() + "/statement-imports/" + summary.importBatchId() + "/issues");
+
+        ImportIssuePageDto firstPage = statementImportService.getIssues(
+                account.id(), summary.importBatchId(), ImportIssueSeverity.ERROR, null, 2);
+        assertThat(firstPage.items()).extracting(ImportBatchIssueDto::rowNumber).containsExactly(3, 4);
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        ImportIssuePageDto secondPage = statementImportService.getIssues(
+                account.id(), summary.importBatchId(), ImportIssueSeverity.ERROR, firstPage.nextCursor(), 2);
+        assertThat(secondPage.items()).extracting(ImportBatchIssueDto::rowNumber).containsExactly(5);
+        assertThat(secondPage.nextCursor()).isNull();
+
+        ImportIssuePageDto all = statementImportService.getIssues(account.id(), summary.importBatchId(), null, null, null);
+        assertThat(all.items()).extracting(ImportBatchIssueDto::severity)
+                .containsExactlyInAnyOrder(
+                        ImportIssueSeverity.ERROR,
+                        ImportIssueSeverity.ERROR,
+                        ImportIssueSeverity.ERROR,
+                        ImportIssueSeverity.WARNING
+                );
+    }
+
+    @Test
+    void shouldPageImportHistoryNewestFirst() {
+        AccountDto account = accountService.create(new CreateAccountRequest("History Paging Checking", null, null));
+        Long first = importCsv(account.id(), "first.csv", "date,amount,description\n2026-12-01,-1.00,One\n").importBatchId();
+        Long second = importCsv(account.id(), "second.csv", "date,amount,description\n2026-12-02,-2.00,Two\n").importBatchId();
+        Long third = importCsv(account.id(), "third.csv", "date,amount,description\n2026-12-03,-3.00,Three\n").importBatchId();
+
+        ImportBatchPageDto firstPage = statementImportService.getHistory(account.id(), null, 2);
+        assertThat(firstPage.items()).extracting(ImportBatchDto::id).containsExactly(third, second);
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        ImportBatchPageDto secondPage = statementImportService.getHistory(account.id(), firstPage.nextCursor(), 2);
+        assertThat(secondPage.items()).extracting(ImportBatchDto::id).containsExactly(first);
+        assertThat(secondPage.nextCursor()).isNull();
+
+        assertThatThrownBy(() -> statementImportService.getHistory(account.id(), "not a cursor", 2))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> statementImportService.getHistory(account.id(), null, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private ImportSummaryDto importCsv(Long accountId, String fileName, String csv) {
+        return statementImportService.importStatement(
+                accountId,
+                new MockMultipartFile("file", fileName, "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+    }
+}
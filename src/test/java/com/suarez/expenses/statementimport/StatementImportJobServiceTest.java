@@ -0,0 +1,122 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementImportJobServiceTest {
+
+    @Autowired
+    private StatementImportJobService statementImportJobService;
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRunAsyncImportAndReportProgressThroughBatchStatus() throws InterruptedException {
+        AccountDto account = accountService.create(new CreateAccountRequest("Async Import Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                2024-07-01,-15.00,Bakery,async-1
+                2024-07-02,-15.00,Bakery,async-1
+                2024-07-03,2500.00,Payroll,async-2
+                """;
+
+        StatementImportResponseDto response = statementImportJobService.submit(
+                account.id(),
+                new MockMultipartFile("file", "async.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.PROCESSING);
+        assertThat(response.batch()).isNotNull();
+        assertThat(response.batch().status()).isEqualTo(ImportBatchStatus.QUEUED);
+
+        ImportBatchDto batch = awaitCompletion(account.id(), response.batch().id());
+        assertThat(batch.status()).isEqualTo(ImportBatchStatus.COMPLETED);
+        assertThat(batch.rowsParsed()).isEqualTo(3);
+        assertThat(batch.inserted()).isEqualTo(2);
+        assertThat(batch.skippedDuplicates()).isEqualTo(1);
+        assertThat(batch.completedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldAskForHeaderMappingBeforeQueueingHeaderlessCsv() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Async Headerless Checking", null, null));
+        String csv = """
+                "07/30/2024","-12.00","*","","COFFEE SHOP"
+                """;
+
+        StatementImportResponseDto response = statementImportJobService.submit(
+                account.id(),
+                new MockMultipartFile("file", "headerless.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.HEADER_MAPPING_REQUIRED);
+        assertThat(response.batch()).isNull();
+        assertThat(response.headerMappingPrompt().columnCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectAsyncPreviewRequests() throws Exception {
+        AccountDto account = accountService.create(new CreateAccountRequest("Async Preview Checking", null, null));
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "preview.csv",
+                "text/csv",
+                "date,amount,description\n2024-07-01,-1.00,Tea\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        mockMvc.perform(multipart("/api/accounts/{accountId}/statement-imports", account.id())
+                        .file(file)
+                        .param("async", "true")
+                        .param("preview", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ImportBatchDto awaitCompletion(Long accountId, Long batchId) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        ImportBatchDto batch = statementImportService.getBatch(accountId, batchId);
+        while ((batch.status() == ImportBatchStatus.QUEUED || batch.status() == ImportBatchStatus.PROCESSING)
+                && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            batch = statementImportService.getBatch(accountId, batchId);
+        }
+        return batch;
+    }
+}
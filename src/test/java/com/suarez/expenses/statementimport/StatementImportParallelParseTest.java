@@ -0,0 +1,114 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.transaction.BudgetTransaction;
+import com.suarez.expenses.transaction.BudgetTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "expenses.statement-import.parse-workers=4")
+@Transactional
+class StatementImportParallelParseTest {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BudgetTransactionRepository budgetTransactionRepository;
+
+    @Test
+    void shouldKeepRowOrderAndRowNumbersWhenParsingInParallel() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Parallel Parse Checking", null, null));
+        StringBuilder csv = new StringBuilder("date,amount,description,id\n");
+        List<Integer> expectedErrorRows = new ArrayList<>();
+        for (int i = 1; i <= 1500; i++) {
+            if (i % 125 == 0) {
+                csv.append("not-a-date,-1.00,Broken ").append(i).append(",bad-").append(i).append('\n');
+                expectedErrorRows.add(i + 2);
+                continue;
+            }
+            csv.append("2025-05-").append(String.format("%02d", (i % 28) + 1))
+                    .append(",-").append(i).append(".00,Purchase ").append(i)
+                    .append(",par-").append(i).append('\n');
+        }
+        csv.append("2025-05-10,-9.99,Late copy of first row,par-1\n");
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "parallel.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        ImportSummaryDto summary = response.summary();
+        assertThat(summary.inserted()).isEqualTo(1488);
+        assertThat(summary.skippedDuplicates()).isEqualTo(1);
+        assertThat(summary.parseErrors())
+                .extracting(ImportIssueDto::rowNumber)
+                .containsExactlyElementsOf(expectedErrorRows);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2025, 5, 1),
+                LocalDate.of(2025, 5, 31)
+        )).extracting(BudgetTransaction::getDescription)
+                .contains("Purchase 1")
+                .doesNotContain("Late copy of first row");
+    }
+
+    @Test
+    void shouldKeepLockedDateLayoutWhenAnOutlierRowMatchesAnotherLayout() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Date Lock Checking", null, null));
+        StringBuilder csv = new StringBuilder("date,amount,description,id\n")
+                .append("04/15/2026,-1.00,Month first,lock-1\n")
+                .append("13/02/2026,-2.00,Day first outlier,lock-2\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append("03/04/2026,-").append(i).append(".00,Ambiguous ").append(i).append(",amb-").append(i).append('\n');
+        }
+
+        ImportSummaryDto summary = statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "outlier.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+
+        assertThat(summary.inserted()).isEqualTo(202);
+        List<BudgetTransaction> transactions = budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 12, 31)
+        );
+        assertThat(transactions)
+                .filteredOn(transaction -> transaction.getDescription().startsWith("Ambiguous"))
+                .hasSize(200)
+                .extracting(BudgetTransaction::getTxnDate)
+                .containsOnly(LocalDate.of(2026, 3, 4));
+        assertThat(transactions)
+                .filteredOn(transaction -> transaction.getDescription().equals("Day first outlier"))
+                .extracting(BudgetTransaction::getTxnDate)
+                .containsExactly(LocalDate.of(2026, 2, 13));
+    }
+}
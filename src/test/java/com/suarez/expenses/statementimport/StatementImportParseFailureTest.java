@@ -0,0 +1,127 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.common.BadRequestException;
+import com.suarez.expenses.transaction.BudgetTransaction;
+import com.suarez.expenses.transaction.BudgetTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "expenses.statement-import.commit-mode=SINGLE_TRANSACTION",
+        "expenses.statement-import.chunk-size=1"
+})
+class StatementImportParseFailureTest {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BudgetTransactionRepository budgetTransactionRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Test
+    void shouldRollBackWholeImportWhenParsingFailsMidFile() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Parse Failure Checking", null, null));
+        String csv = """
+                date,amount,description,id
+                2024-10-01,-10.00,Groceries,fail-1
+                2024-10-02,-20.00,Fuel,fail-2
+                2024-10-03,-30.00,"Pharmacy"x,fail-3
+                2024-10-04,-40.00,Dinner,fail-4
+                """;
+
+        assertThatThrownBy(() -> statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "broken.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Unable to parse statement");
+
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2024, 10, 1),
+                LocalDate.of(2024, 10, 31)
+        )).isEmpty();
+        assertThat(importBatchRepository.findHistory(account.id(), Limit.of(1))).isEmpty();
+    }
+
+    @Test
+    void shouldRollBackOnlyTheCorruptEntryOfAnArchive() throws IOException {
+        AccountDto account = accountService.create(new CreateAccountRequest("Archive Failure Checking", null, null));
+
+        ArchiveImportResultDto result = statementImportService.importArchive(
+                account.id(),
+                zipOf(
+                        "2024-11.csv", "date,amount,description,id\n2024-11-01,-10.00,Groceries,zipfail-1\n",
+                        "2024-12.csv", "date,amount,description,id\n2024-12-01,-20.00,Fuel,zipfail-2\n"
+                                + "2024-12-02,-30.00,\"Pharmacy\"x,zipfail-3\n",
+                        "2025-01.csv", "date,amount,description,id\n2025-01-01,-40.00,Dinner,zipfail-4\n"
+                ),
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        assertThat(result.entries())
+                .extracting(ArchiveEntryImportDto::fileName, ArchiveEntryImportDto::status)
+                .containsExactly(
+                        tuple("2024-11.csv", ImportBatchStatus.COMPLETED),
+                        tuple("2024-12.csv", ImportBatchStatus.FAILED),
+                        tuple("2025-01.csv", ImportBatchStatus.COMPLETED)
+                );
+        ImportSummaryDto failed = result.entries().get(1).summary();
+        assertThat(failed.inserted()).isZero();
+        assertThat(failed.parseErrors()).singleElement()
+                .satisfies(issue -> assertThat(issue.message()).startsWith("Unable to parse statement 2024-12.csv"));
+        assertThat(importBatchRepository.findById(failed.importBatchId()).orElseThrow().getStatus())
+                .isEqualTo(ImportBatchStatus.FAILED);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.id(),
+                LocalDate.of(2024, 11, 1),
+                LocalDate.of(2025, 1, 31)
+        )).extracting(BudgetTransaction::getSourceExternalId).containsExactlyInAnyOrder("zipfail-1", "zipfail-4");
+    }
+
+    private static MockMultipartFile zipOf(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "statements.zip", "application/zip", archive.toByteArray());
+    }
+}
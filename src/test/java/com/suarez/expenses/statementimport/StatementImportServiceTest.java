@@ -1,19 +1,35 @@
 package com.suarez.expenses.statementimport;
 
 import com.suarez.expenses.account.Account;
+import com.suarez.expenses.account.AccountDto;
 import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.category.Category;
+import com.suarez.expenses.category.CategoryRepository;
+import com.suarez.expenses.category.CategoryType;
+import com.suarez.expenses.common.BadRequestException;
 import com.suarez.expenses.transaction.BudgetTransaction;
 import com.suarez.expenses.transaction.BudgetTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -28,6 +44,15 @@ class StatementImportServiceTest {
     @Autowired
     private BudgetTransactionRepository budgetTransactionRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void shouldImportCsvAndSkipDuplicates() {
         Account account = accountService.getOrCreateDefault();
@@ -131,6 +156,60 @@ class StatementImportServiceTest {
         assertThat(response.headerMappingPrompt().sampleRow()).hasSize(5);
     }
 
+    @Test
+    void shouldImportCachedUploadByTokenAfterHeaderMappingPrompt() {
+        Account account = accountService.getOrCreateDefault();
+        String csv = """
+                "02/03/2026","-18.25","*","","CORNER MARKET"
+                "02/04/2026","1200.00","*","","PAYROLL DEPOSIT"
+                """;
+
+        StatementImportResponseDto promptResponse = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "Checking3.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+        assertThat(promptResponse.status()).isEqualTo(StatementImportResponseStatus.HEADER_MAPPING_REQUIRED);
+        String uploadToken = promptResponse.headerMappingPrompt().uploadToken();
+        assertThat(uploadToken).isNotBlank();
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.getId(),
+                null,
+                uploadToken,
+                0,
+                1,
+                4,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.COMPLETED);
+        assertThat(response.summary().inserted()).isEqualTo(2);
+        assertThat(importBatchRepository.findById(response.summary().importBatchId()))
+                .get()
+                .extracting(ImportBatch::getFileName)
+                .isEqualTo("Checking3.csv");
+
+        assertThatThrownBy(() -> statementImportService.importStatement(
+                account.getId(),
+                null,
+                "unknown-token",
+                0,
+                1,
+                4,
+                null,
+                null,
+                false
+        )).isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     void shouldImportHeaderlessCsvUsingProvidedAndSavedMapping() {
         Account account = accountService.getOrCreateDefault();
@@ -219,4 +298,476 @@ class StatementImportServiceTest {
                 .contains("Memo wins", "Fallback description")
                 .doesNotContain("Description should be ignored");
     }
+
+    @Test
+    void shouldStreamLargeCsvInChunksAndSkipDuplicatesAcrossChunks() {
+        Account account = accountService.getOrCreateDefault();
+        StringBuilder csv = new StringBuilder("date,amount,description,id\n");
+        for (int i = 1; i <= 1200; i++) {
+            csv.append("2026-02-").append(String.format("%02d", (i % 28) + 1))
+                    .append(",-").append(i).append(".00,Purchase ").append(i)
+                    .append(",chunk-").append(i).append('\n');
+        }
+        csv.append("2026-02-02,-1.00,Purchase 1,chunk-1\n");
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "large.csv",
+                "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8)
+        );
+
+        StatementImportResponseDto response = statementImportService.importStatement(
+                account.getId(),
+                file,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.COMPLETED);
+        assertThat(response.summary().inserted()).isEqualTo(1200);
+        assertThat(response.summary().skippedDuplicates()).isEqualTo(1);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 2, 28)
+        )).hasSize(1200);
+    }
+
+    @Test
+    void shouldImportSgmlAndXmlOfxStatements() {
+        Account account = accountService.getOrCreateDefault();
+        String sgml = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                VERSION:102
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20260303120000[-5:EST]
+                <TRNAMT>-42.10
+                <FITID>ofx-1
+                <NAME>Hardware Store
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20260304
+                <TRNAMT>1,250.00
+                <FITID>ofx-2
+                <MEMO>Payroll deposit
+                </STMTTRN>
+                <STMTTRN>
+                <DTPOSTED>bad
+                <TRNAMT>-1.00
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """;
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <?OFX OFXHEADER="200" VERSION="220"?>
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><DTPOSTED>20260305</DTPOSTED><TRNAMT>-9.99</TRNAMT><FITID>ofx-3</FITID><NAME>Streaming</NAME></STMTTRN>
+                <STMTTRN><DTPOSTED>20260303</DTPOSTED><TRNAMT>-42.10</TRNAMT><FITID>ofx-1</FITID><NAME>Hardware Store</NAME></STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        StatementImportResponseDto sgmlResponse = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "statement.ofx", "application/x-ofx", sgml.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+        assertThat(sgmlResponse.summary().inserted()).isEqualTo(2);
+        assertThat(sgmlResponse.summary().parseErrors()).extracting(ImportIssueDto::rowNumber).containsExactly(3);
+
+        StatementImportResponseDto xmlResponse = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "statement.qfx", "application/x-ofx", xml.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+        assertThat(xmlResponse.summary().inserted()).isEqualTo(1);
+        assertThat(xmlResponse.summary().skippedDuplicates()).isEqualTo(1);
+
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 31)
+        )).extracting(BudgetTransaction::getDescription)
+                .containsExactlyInAnyOrder("Hardware Store", "Payroll deposit", "Streaming");
+    }
+
+    @Test
+    void shouldSkipRowsWhoseExternalIdAlreadyExistsEvenWhenDetailsChanged() {
+        Account account = accountService.getOrCreateDefault();
+        String original = """
+                date,amount,description,id
+                2026-04-02,-45.10,Hardware store,apr-1
+                2026-04-03,-12.00,Lunch,apr-2
+                """;
+        String corrected = """
+                date,amount,description,id
+                2026-04-02,-45.10,Hardware Store #221,apr-1
+                2026-04-04,-8.50,Parking,apr-3
+                """;
+
+        statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "april.csv", "text/csv", original.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+        ImportSummaryDto summary = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "april-corrected.csv", "text/csv", corrected.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+
+        assertThat(summary.inserted()).isEqualTo(1);
+        assertThat(summary.skippedDuplicates()).isEqualTo(1);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 4, 1),
+                LocalDate.of(2026, 4, 30)
+        )).extracting(BudgetTransaction::getDescription)
+                .containsExactlyInAnyOrder("Hardware store", "Lunch", "Parking");
+    }
+
+    @Test
+    void shouldKeepDayFirstDatesOnceFileUsesThatFormat() {
+        Account account = accountService.getOrCreateDefault();
+        String csv = """
+                date,amount,description,id
+                25/05/2026,-12.50,Bakery,dmy-1
+                03/05/2026,"-1,204.00",Rent,dmy-2
+                30/05/2026,(8.00),Refund reversal,dmy-3
+                """;
+
+        ImportSummaryDto summary = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "dmy.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+
+        assertThat(summary.inserted()).isEqualTo(3);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 5, 1),
+                LocalDate.of(2026, 5, 31)
+        )).extracting(BudgetTransaction::getTxnDate, transaction -> transaction.getAmount().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2026, 5, 25), "12.50"),
+                        tuple(LocalDate.of(2026, 5, 3), "1204.00"),
+                        tuple(LocalDate.of(2026, 5, 30), "8.00")
+                );
+    }
+
+    @Test
+    void shouldImportSemicolonCsvWithDecimalCommaAmounts() {
+        Account account = accountService.getOrCreateDefault();
+        String csv = """
+                date;amount;description;id
+                2026-10-01;-12,50;Bäckerei;eu-1
+                2026-10-02;-1.234,56;Miete;eu-2
+                2026-10-03;2000,00;Gehalt;eu-3
+                """;
+
+        ImportSummaryDto summary = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "konto.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+
+        assertThat(summary.inserted()).isEqualTo(3);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 10, 1),
+                LocalDate.of(2026, 10, 31)
+        )).extracting(BudgetTransaction::getDescription, transaction -> transaction.getAmount().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple("Bäckerei", "12.50"),
+                        tuple("Miete", "1234.56"),
+                        tuple("Gehalt", "2000.00")
+                );
+    }
+
+    @Test
+    void shouldResolveSourceCategoriesCaseInsensitivelyAndCreateMissingOnesInOrder() {
+        Account account = accountService.getOrCreateDefault();
+        Category existing = categoryRepository.save(new Category("household goods", CategoryType.EXPENSE, 40, true));
+        String csv = """
+                date,amount,description,category,id
+                2026-06-01,-20.00,Detergent,Household Goods,jun-1
+                2026-06-02,-35.00,Mop,HOUSEHOLD GOODS,jun-2
+                2026-06-03,-80.00,Train ticket,Rail Travel,jun-3
+                2026-06-04,-60.00,Power bill,Electric Utility,jun-4
+                2026-06-05,-15.00,Bus fare,rail travel,jun-5
+                """;
+
+        statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "june.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        List<BudgetTransaction> imported = budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 6, 1),
+                LocalDate.of(2026, 6, 30)
+        );
+        assertThat(imported).hasSize(5);
+        assertThat(imported)
+                .filteredOn(transaction -> transaction.getDescription().equals("Detergent") || transaction.getDescription().equals("Mop"))
+                .extracting(transaction -> transaction.getCategory().getId())
+                .containsOnly(existing.getId());
+
+        Category railTravel = categoryRepository.findByTypeAndNameIgnoreCase(CategoryType.EXPENSE, "rail travel").orElseThrow();
+        Category electricUtility = categoryRepository.findByTypeAndNameIgnoreCase(CategoryType.EXPENSE, "electric utility").orElseThrow();
+        assertThat(railTravel.getName()).isEqualTo("Rail Travel");
+        assertThat(electricUtility.getSortOrder()).isEqualTo(railTravel.getSortOrder() + 1);
+    }
+
+    @Test
+    void shouldImportEveryStatementInZipArchiveAndDedupeAcrossEntries() throws IOException {
+        Account account = accountService.getOrCreateDefault();
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            zip.putNextEntry(new ZipEntry("statements/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("statements/2026-08.csv"));
+            zip.write("""
+                    date,amount,description,id
+                    2026-08-01,-20.00,Pharmacy,zip-1
+                    2026-08-02,-35.00,Hardware Store,zip-2
+                    """.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("statements/2026-09.csv"));
+            zip.write("""
+                    date,amount,description,id
+                    2026-08-02,-35.00,Hardware Store,zip-2
+                    2026-09-01,1800.00,Payroll,zip-3
+                    """.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("statements/readme.txt"));
+            zip.write("not a statement".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        ArchiveImportResultDto result = statementImportService.importArchive(
+                account.getId(),
+                new MockMultipartFile("file", "statements.zip", "application/zip", archive.toByteArray()),
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        assertThat(result.inserted()).isEqualTo(3);
+        assertThat(result.skippedDuplicates()).isEqualTo(1);
+        assertThat(result.skippedEntries()).containsExactly("statements/readme.txt");
+        assertThat(result.entries())
+                .extracting(ArchiveEntryImportDto::fileName, ArchiveEntryImportDto::status)
+                .containsExactly(
+                        tuple("2026-08.csv", ImportBatchStatus.COMPLETED),
+                        tuple("2026-09.csv", ImportBatchStatus.COMPLETED)
+                );
+        assertThat(result.entries().get(0).summary().importBatchId())
+                .isNotEqualTo(result.entries().get(1).summary().importBatchId());
+        assertThat(budgetTransactionRepository.findAll())
+                .extracting(BudgetTransaction::getSourceExternalId)
+                .contains("zip-1", "zip-2", "zip-3");
+    }
+
+    @Test
+    void shouldRecordStageTimingsAndRowOutcomesPerFileType() {
+        AccountDto account = accountService.create(new CreateAccountRequest("Metrics Checking", null, null));
+        double insertedBefore = rowCount("inserted");
+        double skippedBefore = rowCount("skipped_duplicate");
+        String csv = """
+                date,amount,description,id
+                2026-10-01,-8.00,Parking,metrics-1
+                2026-10-01,-8.00,Parking,metrics-1
+                2026-10-02,-30.00,Fuel,metrics-2
+                """;
+
+        statementImportService.importStatement(
+                account.id(),
+                new MockMultipartFile("file", "metrics.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+
+        assertThat(rowCount("inserted") - insertedBefore).isZero();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(rowCount("inserted") - insertedBefore).isEqualTo(2);
+        assertThat(rowCount("skipped_duplicate") - skippedBefore).isEqualTo(1);
+        for (ImportStage stage : List.of(ImportStage.READ, ImportStage.PARSE, ImportStage.NORMALIZE, ImportStage.INSERT)) {
+            assertThat(meterRegistry.get("statement.import.stage")
+                    .tag("stage", stage.tagValue())
+                    .tag("file.type", "csv")
+                    .timer()
+                    .count()).isPositive();
+        }
+        assertThat(meterRegistry.get("statement.import.duration").tag("file.type", "csv").timer().count()).isPositive();
+        assertThat(meterRegistry.get("statement.import.duplicate.ratio").tag("file.type", "csv").gauge().value()).isPositive();
+    }
+
+    private double rowCount(String outcome) {
+        Counter counter = meterRegistry.find("statement.import.rows")
+                .tag("file.type", "csv")
+                .tag("outcome", outcome)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void shouldRevertImportBatchAndAllowReimport() {
+        Account account = accountService.getOrCreateDefault();
+        String csv = """
+                date,amount,description,id
+                2026-11-01,-42.00,Wrong Account Charge,revert-1
+                2026-11-02,-13.00,Wrong Account Lunch,revert-2
+                """;
+
+        ImportSummaryDto imported = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "wrong.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+        assertThat(imported.inserted()).isEqualTo(2);
+
+        ImportBatchDto reverted = statementImportService.revertBatch(account.getId(), imported.importBatchId());
+
+        assertThat(reverted.status()).isEqualTo(ImportBatchStatus.REVERTED);
+        assertThat(reverted.revertedCount()).isEqualTo(2);
+        assertThat(reverted.revertedAt()).isNotNull();
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 11, 1),
+                LocalDate.of(2026, 11, 30)
+        )).isEmpty();
+        assertThat(statementImportService.revertBatch(account.getId(), imported.importBatchId()).revertedCount()).isEqualTo(2);
+
+        ImportSummaryDto reimported = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "wrong.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+        assertThat(reimported.inserted()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPreviewImportWithoutWritingAnything() {
+        Account account = accountService.getOrCreateDefault();
+        String existing = """
+                date,amount,description,id
+                2026-07-01,-25.00,Gym,jul-1
+                """;
+        statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "july.csv", "text/csv", existing.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+        long batchesBefore = importBatchRepository.count();
+        long categoriesBefore = categoryRepository.count();
+
+        String csv = """
+                date,amount,description,category,id
+                2026-07-01,-25.00,Gym,,jul-1
+                2026-07-02,-14.00,Cinema,Preview Entertainment,jul-2
+                2026-07-02,-14.00,Cinema,Preview Entertainment,jul-2
+                2026-07-03,0.00,Adjustment,,jul-3
+                bad-date,-1.00,Broken,,jul-4
+                """;
+        StatementImportResponseDto response = statementImportService.previewImport(
+                account.getId(),
+                new MockMultipartFile("file", "july.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        assertThat(response.status()).isEqualTo(StatementImportResponseStatus.PREVIEW);
+        ImportPreviewDto preview = response.preview();
+        assertThat(preview.rowsParsed()).isEqualTo(4);
+        assertThat(preview.toInsert()).isEqualTo(1);
+        assertThat(preview.skippedDuplicates()).isEqualTo(2);
+        assertThat(preview.parseErrorCount()).isEqualTo(1);
+        assertThat(preview.warningCount()).isEqualTo(1);
+        assertThat(preview.newCategories()).containsExactly("Preview Entertainment");
+        assertThat(preview.sampleRows())
+                .extracting(ImportPreviewRowDto::externalId, ImportPreviewRowDto::duplicate)
+                .containsExactly(tuple("jul-1", true), tuple("jul-2", false), tuple("jul-2", true));
+
+        assertThat(importBatchRepository.count()).isEqualTo(batchesBefore);
+        assertThat(categoryRepository.count()).isEqualTo(categoriesBefore);
+        assertThat(budgetTransactionRepository.findByAccountIdAndTxnDateBetween(
+                account.getId(),
+                LocalDate.of(2026, 7, 1),
+                LocalDate.of(2026, 7, 31)
+        )).hasSize(1);
+    }
 }
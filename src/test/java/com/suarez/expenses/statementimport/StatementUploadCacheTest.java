@@ -0,0 +1,96 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.common.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementUploadCacheTest {
+
+    private static final Long ACCOUNT_ID = 7L;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    @Test
+    void shouldKeepAPinnedUploadReadableAfterSizeEvictionUntilReleased() throws IOException {
+        StatementUploadCache cache = cache(Duration.ofMinutes(15), 16);
+        String first = cache.store(ACCOUNT_ID, "first.csv", source("date,amount\n"));
+
+        StatementUploadCache.CachedUpload pinned = cache.require(ACCOUNT_ID, first);
+        cache.store(ACCOUNT_ID, "second.csv", source("date,amount,id\n"));
+
+        assertThat(cache.find(ACCOUNT_ID, first)).isEmpty();
+        try (InputStream inputStream = pinned.getInputStream()) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("date,amount\n");
+        }
+
+        cache.release(pinned);
+        assertThat(Files.exists(pinned.path())).isFalse();
+    }
+
+    @Test
+    void shouldKeepAPinnedUploadReadableWhenTheSameContentIsStoredAgain() throws IOException {
+        StatementUploadCache cache = cache(Duration.ofMinutes(15), 1024);
+        String token = cache.store(ACCOUNT_ID, "statement.csv", source("date,amount\n"));
+        StatementUploadCache.CachedUpload pinned = cache.require(ACCOUNT_ID, token);
+
+        assertThat(cache.store(ACCOUNT_ID, "statement.csv", source("date,amount\n"))).isEqualTo(token);
+
+        assertThat(Files.exists(pinned.path())).isTrue();
+        cache.release(pinned);
+        assertThat(Files.exists(pinned.path())).isFalse();
+
+        StatementUploadCache.CachedUpload current = cache.require(ACCOUNT_ID, token);
+        try (InputStream inputStream = current.getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo("date,amount\n".getBytes(StandardCharsets.UTF_8));
+        }
+        cache.release(current);
+        assertThat(Files.exists(current.path())).isTrue();
+    }
+
+    @Test
+    void shouldRejectExpiredTokensWithoutHandingOutTheirFiles() {
+        StatementUploadCache cache = cache(Duration.ofSeconds(-1), 1024);
+        String token = cache.store(ACCOUNT_ID, "statement.csv", source("date,amount\n"));
+
+        assertThatThrownBy(() -> cache.require(ACCOUNT_ID, token))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("unknown or expired");
+    }
+
+    private StatementUploadCache cache(Duration ttl, long maxBytes) {
+        return new StatementUploadCache(new StatementImportProperties(
+                500,
+                ImportCommitMode.SINGLE_TRANSACTION,
+                500,
+                1,
+                50,
+                100,
+                ttl,
+                DataSize.ofBytes(maxBytes),
+                null,
+                1,
+                null,
+                1,
+                0,
+                spoolDirectory
+        ));
+    }
+
+    private static InputStreamSource source(String content) {
+        return () -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package com.suarez.expenses.statementimport;
+
+import com.suarez.expenses.transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFingerprinterTest {
+
+    @Test
+    void shouldMatchFingerprintsStoredByEarlierImports() throws Exception {
+        String[] descriptions = {
+                "Coffee",
+                "  Grocery   STORE\t#12  ",
+                "line\r\nbreak",
+                "\u0001 control prefix",
+                "Café Crème",
+                "",
+                null
+        };
+        for (String description : descriptions) {
+            LocalDate date = LocalDate.of(2026, 1, 5);
+            BigDecimal amount = new BigDecimal("10.005");
+
+            assertThat(TransactionFingerprinter.fingerprint(date, TransactionType.EXPENSE, amount, description))
+                    .isEqualTo(legacyFingerprint(date, TransactionType.EXPENSE, amount, description));
+        }
+    }
+
+    private String legacyFingerprint(LocalDate date, TransactionType type, BigDecimal amount, String description) throws Exception {
+        String normalized = description == null ? "" : description.toLowerCase().replaceAll("\\s+", " ").trim();
+        String source = date + "|" + type + "|" + amount.setScale(2, RoundingMode.HALF_UP) + "|" + normalized;
+        byte[] bytes = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte item : bytes) {
+            hex.append(String.format("%02x", item));
+        }
+        return hex.toString();
+    }
+}
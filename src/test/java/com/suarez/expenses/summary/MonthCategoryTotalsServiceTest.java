@@ -0,0 +1,122 @@
+package com.suarez.expenses.summary;
+
+import com.suarez.expenses.account.Account;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.category.CategoryDto;
+import com.suarez.expenses.category.CategoryService;
+import com.suarez.expenses.category.CategoryType;
+import com.suarez.expenses.category.CreateCategoryRequest;
+import com.suarez.expenses.statementimport.ImportSummaryDto;
+import com.suarez.expenses.statementimport.StatementImportService;
+import com.suarez.expenses.transaction.TransactionDto;
+import com.suarez.expenses.transaction.TransactionRequest;
+import com.suarez.expenses.transaction.TransactionService;
+import com.suarez.expenses.transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MonthCategoryTotalsServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private MonthSummaryService monthSummaryService;
+
+    @Autowired
+    private MonthCategoryTotalsService monthCategoryTotalsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldKeepRollupInStepWithTransactionEditsImportsAndReverts() {
+        LocalDate may2025 = LocalDate.of(2025, 5, 1);
+        CategoryDto rent = categoryService.create(new CreateCategoryRequest("Rollup Rent", CategoryType.EXPENSE, 1, true));
+        CategoryDto travel = categoryService.create(new CreateCategoryRequest("Rollup Travel", CategoryType.EXPENSE, 2, true));
+
+        TransactionDto first = transactionService.create(may2025, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 1), new BigDecimal("900.00"), "Rent", rent.id()));
+        TransactionDto second = transactionService.create(may2025, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 2), new BigDecimal("50.00"), "Train", rent.id()));
+        TransactionDto third = transactionService.create(may2025, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 3), new BigDecimal("75.00"), "Bus", travel.id()));
+
+        transactionService.update(may2025, TransactionType.EXPENSE, second.id(), new TransactionRequest(
+                LocalDate.of(2025, 5, 2), new BigDecimal("60.00"), "Train", travel.id()));
+        transactionService.delete(may2025, TransactionType.EXPENSE, third.id());
+
+        MonthSummaryDto summary = monthSummaryService.getSummary(may2025);
+        assertThat(actualFor(summary, rent.id())).isEqualByComparingTo("900.00");
+        assertThat(actualFor(summary, travel.id())).isEqualByComparingTo("60.00");
+        assertThat(first.id()).isNotNull();
+
+        Account account = accountService.getOrCreateDefault();
+        String csv = """
+                date,amount,description,id
+                2025-05-10,-20.00,Imported taxi,rollup-1
+                2025-05-11,-30.00,Imported ferry,rollup-2
+                """;
+        ImportSummaryDto imported = statementImportService.importStatement(
+                account.getId(),
+                new MockMultipartFile("file", "rollup.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        ).summary();
+        assertThat(imported.inserted()).isEqualTo(2);
+        assertThat(monthSummaryService.getSummary(may2025).expenseTotals().actual()).isEqualByComparingTo("1010.00");
+        assertThat(monthCategoryTotalsService.rebuild().mismatchedRows()).isZero();
+
+        statementImportService.revertBatch(account.getId(), imported.importBatchId());
+        assertThat(monthSummaryService.getSummary(may2025).expenseTotals().actual()).isEqualByComparingTo("960.00");
+        assertThat(monthCategoryTotalsService.rebuild().mismatchedRows()).isZero();
+    }
+
+    @Test
+    void shouldReportAndRepairDriftOnRebuild() {
+        LocalDate june2025 = LocalDate.of(2025, 6, 1);
+        CategoryDto gifts = categoryService.create(new CreateCategoryRequest("Rollup Gifts", CategoryType.EXPENSE, 1, true));
+        transactionService.create(june2025, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 6, 5), new BigDecimal("40.00"), "Present", gifts.id()));
+
+        jdbcTemplate.update("update month_category_totals set total_amount = total_amount + 1 where category_id = ?", gifts.id());
+        assertThat(actualFor(monthSummaryService.getSummary(june2025), gifts.id())).isEqualByComparingTo("41.00");
+
+        assertThat(monthCategoryTotalsService.rebuild().mismatchedRows()).isEqualTo(1);
+        assertThat(actualFor(monthSummaryService.getSummary(june2025), gifts.id())).isEqualByComparingTo("40.00");
+        assertThat(monthCategoryTotalsService.rebuild().mismatchedRows()).isZero();
+    }
+
+    private BigDecimal actualFor(MonthSummaryDto summary, Long categoryId) {
+        return summary.expenseCategories().stream()
+                .filter(row -> row.categoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow()
+                .actual();
+    }
+}
@@ -0,0 +1,110 @@
+package com.suarez.expenses.summary;
+
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
+import com.suarez.expenses.account.UpdateAccountRequest;
+import com.suarez.expenses.category.CategoryDto;
+import com.suarez.expenses.category.CategoryService;
+import com.suarez.expenses.category.CategoryType;
+import com.suarez.expenses.category.CreateCategoryRequest;
+import com.suarez.expenses.transaction.TransactionRequest;
+import com.suarez.expenses.transaction.TransactionService;
+import com.suarez.expenses.transaction.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MonthSummaryCacheTest {
+
+    @Autowired
+    private MonthSummaryService monthSummaryService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldServeCachedSummaryUntilATransactionTouchesTheMonth() throws Exception {
+        LocalDate july2031 = LocalDate.of(2031, 7, 1);
+        LocalDate august2031 = LocalDate.of(2031, 8, 1);
+        CategoryDto hobbies = categoryService.create(new CreateCategoryRequest("Cache Hobbies", CategoryType.EXPENSE, 1, true));
+
+        CachedMonthSummary first = monthSummaryService.getCachedSummary(july2031, List.of());
+        CachedMonthSummary untouched = monthSummaryService.getCachedSummary(august2031, List.of());
+        double hitsBefore = hits();
+
+        assertThat(monthSummaryService.getCachedSummary(july2031, List.of())).isSameAs(first);
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+
+        transactionService.create(july2031, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2031, 7, 4), new BigDecimal("25.00"), "Paint", hobbies.id()));
+
+        CachedMonthSummary afterEdit = monthSummaryService.getCachedSummary(july2031, List.of());
+        assertThat(afterEdit).isNotSameAs(first);
+        assertThat(afterEdit.etag()).isNotEqualTo(first.etag());
+        assertThat(afterEdit.summary().expenseTotals().actual()).isEqualByComparingTo("25.00");
+        assertThat(monthSummaryService.getCachedSummary(august2031, List.of())).isSameAs(untouched);
+        assertThat(meterRegistry.get("summary.cache.evictions").tag("cause", "invalidation").counter().count())
+                .isPositive();
+
+        mockMvc.perform(get("/api/months/2031-07/summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, afterEdit.etag()));
+        mockMvc.perform(get("/api/months/2031-07/summary").header(HttpHeaders.IF_NONE_MATCH, afterEdit.etag()))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/months/2031-07/summary").header(HttpHeaders.IF_NONE_MATCH, first.etag()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldDropCachedSummariesWhenAnAccountIsRenamedOrDeactivated() {
+        LocalDate september2031 = LocalDate.of(2031, 9, 1);
+        AccountDto account = accountService.create(new CreateAccountRequest("Cache Checking", null, null));
+
+        CachedMonthSummary first = monthSummaryService.getCachedSummary(september2031, List.of(account.id()));
+        assertThat(first.summary().accounts()).extracting(AccountSummaryDto::accountName).containsExactly("Cache Checking");
+
+        accountService.update(account.id(), new UpdateAccountRequest("Cache Joint Checking", null, null, null));
+
+        CachedMonthSummary renamed = monthSummaryService.getCachedSummary(september2031, List.of(account.id()));
+        assertThat(renamed).isNotSameAs(first);
+        assertThat(renamed.summary().accounts()).extracting(AccountSummaryDto::accountName)
+                .containsExactly("Cache Joint Checking");
+
+        CachedMonthSummary allAccounts = monthSummaryService.getCachedSummary(september2031, List.of());
+        accountService.deactivate(account.id());
+
+        assertThat(monthSummaryService.getCachedSummary(september2031, List.of())).isNotSameAs(allAccounts);
+    }
+
+    private double hits() {
+        return meterRegistry.get("summary.cache.gets").tag("result", "hit").functionCounter().count();
+    }
+}
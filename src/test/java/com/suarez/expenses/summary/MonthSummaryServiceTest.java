@@ -1,5 +1,8 @@
 package com.suarez.expenses.summary;
 
+import com.suarez.expenses.account.AccountDto;
+import com.suarez.expenses.account.AccountService;
+import com.suarez.expenses.account.CreateAccountRequest;
 import com.suarez.expenses.category.*;
 import com.suarez.expenses.month.BudgetMonthService;
 import com.suarez.expenses.month.UpdateMonthSettingsRequest;
@@ -38,6 +41,9 @@ class MonthSummaryServiceTest {
     @Autowired
     private MonthSummaryService monthSummaryService;
 
+    @Autowired
+    private AccountService accountService;
+
     @Test
     void shouldCalculateMonthlySummary() {
         LocalDate march2025 = LocalDate.of(2025, 3, 1);
@@ -89,5 +95,94 @@ class MonthSummaryServiceTest {
         assertThat(summary.endingBalance()).isEqualByComparingTo("1000.00");
         assertThat(summary.savingsLabel()).isEqualTo("Saved this month");
     }
-}
 
+    @Test
+    void shouldSumTransactionsPerCategoryAndKeepInactiveCategoriesWithActivity() {
+        LocalDate april2025 = LocalDate.of(2025, 4, 1);
+
+        CategoryDto fuel = categoryService.create(new CreateCategoryRequest("Fuel", CategoryType.EXPENSE, 1, true));
+        CategoryDto retired = categoryService.create(new CreateCategoryRequest("Retired Gym", CategoryType.EXPENSE, 2, true));
+
+        for (String amount : List.of("10.10", "20.20", "30.30")) {
+            transactionService.create(april2025, TransactionType.EXPENSE, new TransactionRequest(
+                    LocalDate.of(2025, 4, 3),
+                    new BigDecimal(amount),
+                    "Fill up",
+                    fuel.id()
+            ));
+        }
+        transactionService.create(april2025, TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 4, 4),
+                new BigDecimal("45.00"),
+                "Last membership fee",
+                retired.id()
+        ));
+        categoryService.update(retired.id(), new UpdateCategoryRequest(null, null, false));
+
+        MonthSummaryDto summary = monthSummaryService.getSummary(april2025);
+
+        assertThat(summary.expenseCategories())
+                .filteredOn(row -> row.categoryId().equals(fuel.id()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.actual()).isEqualByComparingTo("60.60"));
+        assertThat(summary.expenseCategories())
+                .filteredOn(row -> row.categoryId().equals(retired.id()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.actual()).isEqualByComparingTo("45.00"));
+        assertThat(summary.expenseTotals().actual()).isEqualByComparingTo("105.60");
+        assertThat(summary.incomeCategories()).noneMatch(row -> row.categoryId().equals(fuel.id()));
+    }
+
+    @Test
+    void shouldScopeSummaryToRequestedAccountsWithPerAccountBreakdown() {
+        LocalDate may2025 = LocalDate.of(2025, 5, 1);
+        AccountDto checking = accountService.create(new CreateAccountRequest("Household Checking", null, null));
+        AccountDto card = accountService.create(new CreateAccountRequest("Household Card", null, null));
+        AccountDto savings = accountService.create(new CreateAccountRequest("Household Savings", null, null));
+        CategoryDto groceries = categoryService.create(new CreateCategoryRequest("Household Groceries", CategoryType.EXPENSE, 1, true));
+        CategoryDto salary = categoryService.create(new CreateCategoryRequest("Household Salary", CategoryType.INCOME, 1, true));
+
+        transactionService.create(may2025, checking.id(), TransactionType.INCOME, new TransactionRequest(
+                LocalDate.of(2025, 5, 1), new BigDecimal("3000.00"), "Salary", salary.id()));
+        transactionService.create(may2025, checking.id(), TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 2), new BigDecimal("100.00"), "Market", groceries.id()));
+        transactionService.create(may2025, card.id(), TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 3), new BigDecimal("250.00"), "Supermarket", groceries.id()));
+        transactionService.create(may2025, savings.id(), TransactionType.EXPENSE, new TransactionRequest(
+                LocalDate.of(2025, 5, 4), new BigDecimal("999.00"), "Not in scope", groceries.id()));
+
+        MonthSummaryDto summary = monthSummaryService.getSummary(may2025, List.of(card.id(), checking.id()));
+
+        assertThat(summary.accountIds()).containsExactly(
+                Math.min(checking.id(), card.id()),
+                Math.max(checking.id(), card.id())
+        );
+        assertThat(summary.expenseCategories())
+                .filteredOn(row -> row.categoryId().equals(groceries.id()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.actual()).isEqualByComparingTo("350.00"));
+        assertThat(summary.accounts()).extracting(AccountSummaryDto::accountName)
+                .containsExactlyInAnyOrder("Household Checking", "Household Card");
+        assertThat(summary.accounts())
+                .filteredOn(account -> account.accountId().equals(checking.id()))
+                .singleElement()
+                .satisfies(account -> {
+                    assertThat(account.incomeActual()).isEqualByComparingTo("3000.00");
+                    assertThat(account.expenseActual()).isEqualByComparingTo("100.00");
+                    assertThat(account.netChange()).isEqualByComparingTo("2900.00");
+                    assertThat(account.expenseCategories()).extracting(AccountCategoryActualDto::categoryId)
+                            .containsExactly(groceries.id());
+                });
+        assertThat(summary.accounts())
+                .filteredOn(account -> account.accountId().equals(card.id()))
+                .singleElement()
+                .satisfies(account -> assertThat(account.netChange()).isEqualByComparingTo("-250.00"));
+
+        MonthSummaryDto everything = monthSummaryService.getSummary(may2025);
+        assertThat(everything.accounts()).isEmpty();
+        assertThat(everything.expenseCategories())
+                .filteredOn(row -> row.categoryId().equals(groceries.id()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.actual()).isEqualByComparingTo("1349.00"));
+    }
+}
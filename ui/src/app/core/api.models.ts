@@ -65,6 +65,24 @@ export interface MonthSummaryDto {
   incomeTotals: SummaryTotalsDto;
   expenseCategories: SummaryCategoryDto[];
   incomeCategories: SummaryCategoryDto[];
+  accountIds: number[];
+  accounts: AccountSummaryDto[];
+}
+
+export interface AccountCategoryActualDto {
+  categoryId: number;
+  categoryName: string;
+  actual: number;
+}
+
+export interface AccountSummaryDto {
+  accountId: number;
+  accountName: string;
+  expenseActual: number;
+  incomeActual: number;
+  netChange: number;
+  expenseCategories: AccountCategoryActualDto[];
+  incomeCategories: AccountCategoryActualDto[];
 }
 
 export interface PlanItemDto {
@@ -111,9 +129,49 @@ export interface ImportSummaryDto {
   skippedDuplicates: number;
   parseErrors: ImportIssueDto[];
   warnings: ImportIssueDto[];
+  parseErrorCount: number;
+  warningCount: number;
+  issuesTruncated: boolean;
+  issuesUrl: string;
+}
+
+export type StatementImportStatus = 'COMPLETED' | 'HEADER_MAPPING_REQUIRED' | 'PROCESSING' | 'PREVIEW';
+
+export type ImportBatchStatus = 'QUEUED' | 'PROCESSING' | 'COMPLETED' | 'COMPLETED_WITH_WARNINGS' | 'PARTIALLY_COMPLETED' | 'FAILED' | 'REVERTED';
+
+export interface ImportBatchDto {
+  id: number;
+  accountId: number;
+  fileName: string;
+  fileType: 'CSV' | 'OFX' | 'QFX';
+  status: ImportBatchStatus;
+  rowsParsed: number | null;
+  inserted: number;
+  skippedDuplicates: number;
+  parseErrors: number;
+  warnings: number;
+  createdAt: string;
+  completedAt: string | null;
+  revertedCount: number | null;
+  revertedAt: string | null;
 }
 
-export type StatementImportStatus = 'COMPLETED' | 'HEADER_MAPPING_REQUIRED';
+export interface ImportBatchPageDto {
+  items: ImportBatchDto[];
+  nextCursor: string | null;
+}
+
+export interface ImportBatchIssueDto {
+  id: number;
+  severity: 'ERROR' | 'WARNING';
+  rowNumber: number | null;
+  message: string;
+}
+
+export interface ImportIssuePageDto {
+  items: ImportBatchIssueDto[];
+  nextCursor: string | null;
+}
 
 export interface CsvHeaderMappingPromptDto {
   message: string;
@@ -124,12 +182,53 @@ export interface CsvHeaderMappingPromptDto {
   suggestedDescriptionColumnIndex: number | null;
   suggestedCategoryColumnIndex: number | null;
   suggestedExternalIdColumnIndex: number | null;
+  uploadToken: string | null;
+}
+
+export interface ImportPreviewRowDto {
+  rowNumber: number | null;
+  date: string;
+  type: TransactionType;
+  amount: number;
+  description: string;
+  category: string;
+  externalId: string | null;
+  duplicate: boolean;
+}
+
+export interface ImportPreviewDto {
+  rowsParsed: number;
+  toInsert: number;
+  skippedDuplicates: number;
+  parseErrorCount: number;
+  warningCount: number;
+  newCategories: string[];
+  sampleRows: ImportPreviewRowDto[];
+  sampleParseErrors: ImportIssueDto[];
+  sampleWarnings: ImportIssueDto[];
 }
 
 export interface StatementImportResponseDto {
   status: StatementImportStatus;
   summary: ImportSummaryDto | null;
   headerMappingPrompt: CsvHeaderMappingPromptDto | null;
+  batch: ImportBatchDto | null;
+  preview: ImportPreviewDto | null;
+}
+
+export interface ArchiveEntryImportDto {
+  fileName: string;
+  status: ImportBatchStatus;
+  summary: ImportSummaryDto;
+}
+
+export interface ArchiveImportResultDto {
+  inserted: number;
+  skippedDuplicates: number;
+  parseErrorCount: number;
+  warningCount: number;
+  entries: ArchiveEntryImportDto[];
+  skippedEntries: string[];
 }
 
 export interface CsvHeaderMappingInput {
@@ -24,8 +24,12 @@ export class ApiService {
 
   constructor(private readonly http: HttpClient) {}
 
-  getSummary(month: string) {
-    return this.http.get<MonthSummaryDto>(`${this.base}/months/${month}/summary`);
+  getSummary(month: string, accountIds: number[] = []) {
+    let params = new HttpParams();
+    for (const accountId of accountIds) {
+      params = params.append('accountId', String(accountId));
+    }
+    return this.http.get<MonthSummaryDto>(`${this.base}/months/${month}/summary`, { params });
   }
 
   getMonthSettings(month: string) {
@@ -113,9 +117,13 @@ export class ApiService {
     });
   }
 
-  importStatement(accountId: number, file: File, mapping?: CsvHeaderMappingInput) {
+  importStatement(accountId: number, file: File, mapping?: CsvHeaderMappingInput, uploadToken?: string | null) {
     const formData = new FormData();
-    formData.append('file', file, file.name);
+    if (uploadToken) {
+      formData.append('uploadToken', uploadToken);
+    } else {
+      formData.append('file', file, file.name);
+    }
     if (mapping) {
       formData.append('dateColumnIndex', String(mapping.dateColumnIndex));
       formData.append('amountColumnIndex', String(mapping.amountColumnIndex));
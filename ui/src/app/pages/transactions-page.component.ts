@@ -335,7 +335,8 @@ export class TransactionsPageComponent implements OnInit {
       return;
     }
 
-    this.api.importStatement(this.selectedAccountId, this.selectedStatementFile, mappingInput).subscribe({
+    const uploadToken = this.headerMappingPrompt?.uploadToken ?? null;
+    this.api.importStatement(this.selectedAccountId, this.selectedStatementFile, mappingInput, uploadToken).subscribe({
       next: (response) => {
         this.uploading = false;
 
@@ -356,6 +357,9 @@ export class TransactionsPageComponent implements OnInit {
       error: (error) => {
         this.error = this.toMessage(error);
         this.uploading = false;
+        if (uploadToken && this.headerMappingPrompt) {
+          this.headerMappingPrompt = { ...this.headerMappingPrompt, uploadToken: null };
+        }
       }
     });
   }